@@ -0,0 +1,194 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * A CalendarExporter object publishes schedules as iCalendar (RFC 5545) feeds.
+ * Every meeting of every course during the term becomes one event, except on holidays.
+ * Occurrences are generated lazily, one day of the term at a time, and written straight
+ * to a buffered writer, so exporting a schedule never holds its occurrence list in memory.
+ * Times are written as floating local times, in the time zone of whoever opens the feed.
+ * Thread-safe; one exporter can serve many exports at once.
+ */
+public class CalendarExporter {
+    /** length of a regular term */
+    public static final int DEFAULT_WEEKS = 16;
+
+    private static final String CRLF = "\r\n";
+    // content lines longer than this many characters are folded
+    private static final int MAX_LINE_LENGTH = 75;
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    private final LocalDate termStart;
+    private final int weeks;
+    private final Set<LocalDate> holidays;
+    private final Clock clock;
+
+    /**
+     * Constructor of CalendarExporter for a regular term without holidays
+     * @param termStart first day of the term
+     */
+    public CalendarExporter(LocalDate termStart) {
+        this(termStart, DEFAULT_WEEKS, new HashSet<>());
+    }
+
+    /**
+     * Constructor of CalendarExporter
+     * @param termStart first day of the term. shouldn't be null otherwise, IllegalArgumentException is thrown
+     * @param weeks length of the term. should be positive otherwise, IllegalArgumentException is thrown
+     * @param holidays days on which no course meets
+     */
+    public CalendarExporter(LocalDate termStart, int weeks, Collection<LocalDate> holidays) {
+        this(termStart, weeks, holidays, Clock.systemUTC());
+    }
+
+    // the clock only decides the DTSTAMP of the events
+    CalendarExporter(LocalDate termStart, int weeks, Collection<LocalDate> holidays, Clock clock) {
+        if (termStart == null || weeks <= 0 || holidays == null) throw new IllegalArgumentException();
+        this.termStart = termStart;
+        this.weeks = weeks;
+        this.holidays = new HashSet<>(holidays);
+        this.clock = clock;
+    }
+
+    /**
+     * Returns every meeting of the courses in the schedule during the term, in chronological order.
+     * The stream is lazy; the schedule shouldn't be modified while it is consumed
+     * @param schedule
+     * @return lazy stream of occurrences
+     */
+    public Stream<Occurrence> occurrences(Schedule schedule) {
+        return Stream.iterate(termStart, date -> date.plusDays(1))
+                .limit(weeks * 7L)
+                .filter(date -> !holidays.contains(date))
+                .flatMap(date -> {
+                    Weekday day = weekdayOf(date);
+                    if (day == null) return Stream.empty();
+                    return schedule.coursesOn(day).stream().map(c -> new Occurrence(c, date));
+                });
+    }
+
+    /**
+     * Writes the schedule as an iCalendar feed encoded in UTF-8. The stream is flushed, not closed
+     * @param schedule
+     * @param out
+     */
+    public void export(Schedule schedule, OutputStream out) throws IOException {
+        export(schedule, new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes the schedule as an iCalendar feed. The writer is flushed, not closed
+     * @param schedule
+     * @param out
+     */
+    public void export(Schedule schedule, Writer out) throws IOException {
+        BufferedWriter writer = out instanceof BufferedWriter ? (BufferedWriter) out : new BufferedWriter(out);
+        String stamp = DATE_TIME.format(LocalDateTime.now(clock.withZone(ZoneOffset.UTC))) + "Z";
+
+        writeLine(writer, "BEGIN:VCALENDAR");
+        writeLine(writer, "VERSION:2.0");
+        writeLine(writer, "PRODID:-//EGR 222//Scheduler//EN");
+        writeLine(writer, "CALSCALE:GREGORIAN");
+        Iterator<Occurrence> occurrences = occurrences(schedule).iterator();
+        while (occurrences.hasNext()) {
+            Occurrence o = occurrences.next();
+            Course c = o.getCourse();
+            writeLine(writer, "BEGIN:VEVENT");
+            writeLine(writer, "UID:" + Long.toHexString(c.getFingerprint()) + "-"
+                    + DateTimeFormatter.BASIC_ISO_DATE.format(o.getStart()) + "@egr222");
+            writeLine(writer, "DTSTAMP:" + stamp);
+            writeLine(writer, "DTSTART:" + DATE_TIME.format(o.getStart()));
+            writeLine(writer, "DTEND:" + DATE_TIME.format(o.getEnd()));
+            writeLine(writer, "SUMMARY:" + escape(c.getName()));
+            writeLine(writer, "DESCRIPTION:" + escape(c.getCredits() + " credits"));
+            writeLine(writer, "END:VEVENT");
+        }
+        writeLine(writer, "END:VCALENDAR");
+        writer.flush();
+    }
+
+    // Returns the weekday of the date, or null on weekends
+    private static Weekday weekdayOf(LocalDate date) {
+        int day = date.getDayOfWeek().getValue(); // 1 is Monday
+        return day <= Weekday.values().length ? Weekday.values()[day - 1] : null;
+    }
+
+    // Writes one content line, folding it into continuation lines that start with a space
+    private static void writeLine(Writer writer, String line) throws IOException {
+        int start = 0;
+        int width = MAX_LINE_LENGTH;
+        while (line.length() - start > width) {
+            writer.write(line, start, width);
+            writer.write(CRLF);
+            writer.write(' ');
+            start += width;
+            width = MAX_LINE_LENGTH - 1;
+        }
+        writer.write(line, start, line.length() - start);
+        writer.write(CRLF);
+    }
+
+    // Escapes the characters that have a meaning in iCalendar text values
+    private static String escape(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (ch == '\\' || ch == ';' || ch == ',') {
+                sb.append('\\').append(ch);
+            } else if (ch == '\n') {
+                sb.append("\\n");
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * An Occurrence object is one meeting of a course on a date
+     */
+    public static class Occurrence {
+        private final Course course;
+        private final LocalDateTime start;
+
+        Occurrence(Course course, LocalDate date) {
+            this.course = course;
+            this.start = date.atStartOfDay().plusMinutes(course.getStartMinute());
+        }
+
+        public Course getCourse() {
+            return course;
+        }
+
+        public LocalDateTime getStart() {
+            return start;
+        }
+
+        /**
+         * Returns when the meeting ends, which is on the next day for a course running past midnight
+         * @return end of the meeting
+         */
+        public LocalDateTime getEnd() {
+            return start.plusMinutes(course.getDuration());
+        }
+
+        @Override
+        public String toString() {
+            return course.getName() + " " + start;
+        }
+    }
+}
@@ -1,17 +1,34 @@
-import java.util.EnumSet;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutput;
+import java.io.Serializable;
 import java.util.Set;
 
 /**
  * Created by mhan on 10/15/2016.
  * Time object stores information about a particular university course
  */
-public class Course {
+public class Course implements Serializable {
+    private static final long serialVersionUID = 1L;
+    // minutes in a day; end times returned by getEndTime wrap around like Time.shift does
+    private static final int MINUTES_PER_DAY = 24 * 60;
 
-    private String name;
-    private int numCredits;
-    private Set<Weekday> daysOffered;
-    private Time startTime;
-    private int durationInMinutes;
+    private final String name;
+    private final int numCredits;
+    private final DaySet daysOffered;
+    private final Time startTime;
+    private final int durationInMinutes;
+
+    //derived from the fields above once, since a course never changes after construction
+    private final int startMinute;
+    private final int endMinute;
+    private final long fingerprint;
+    private final int hash;
+    //what writeReplace returns, created on first use
+    private transient SerialForm serialForm;
 
     /**
      * Constructor for Course class
@@ -40,9 +57,29 @@ public class Course {
 
         this.name = name.toUpperCase();
         this.numCredits = numCredits;
-        this.daysOffered = EnumSet.copyOf(daysOffered);
+        this.daysOffered = DaySet.copyOf(daysOffered);
         this.startTime = startTime.clone();
         this.durationInMinutes = durationInMinutes;
+
+        this.startMinute = startTime.toMinute();
+        //not wrapped, so a course ending at midnight ends at 1440 rather than before it starts
+        this.endMinute = (int) Math.min(startMinute + (long) durationInMinutes, Integer.MAX_VALUE);
+        this.fingerprint = computeFingerprint();
+        this.hash = computeHashCode();
+    }
+
+    /**
+     * Factory method for Course. Takes the same parameters as the constructor
+     * but returns the instance shared through CourseInterner.shared(),
+     * so that equal courses loaded into many schedules are stored only once
+     * @return the shared course equal to new Course(name, numCredits, daysOffered, startTime, durationInMinutes)
+     */
+    public static Course of(String name,
+                            int numCredits,
+                            Set<Weekday> daysOffered,
+                            Time startTime,
+                            int durationInMinutes){
+        return CourseInterner.shared().intern(new Course(name, numCredits, daysOffered, startTime, durationInMinutes));
     }
 
     /**
@@ -50,9 +87,41 @@ public class Course {
      * @return Time object that refers to the end time (non-inclusive)
      */
     public Time getEndTime(){
-        Time endTime = startTime.clone();
-        endTime.shift(durationInMinutes);
-        return endTime;
+        return Time.fromMinute((int) ((startMinute + (long) durationInMinutes) % MINUTES_PER_DAY));
+    }
+
+    /**
+     * Returns the start time as minutes since midnight, see Time.toMinute
+     * @return start minute of the course
+     */
+    int getStartMinute() {
+        return startMinute;
+    }
+
+    /**
+     * Returns the non-inclusive end time as minutes since midnight, see Time.toMinute.
+     * Unlike getEndTime it doesn't wrap, so a course ending at midnight ends at minute 1440
+     * @return end minute of the course
+     */
+    int getEndMinute() {
+        return endMinute;
+    }
+
+    /**
+     * Returns the days offered as a 5-bit mask, with bit i set if the course is offered on Weekday.values()[i]
+     * @return day mask of the course
+     */
+    int getDayMask() {
+        return daysOffered.mask();
+    }
+
+    /**
+     * Returns a 64-bit fingerprint of all the fields of this course.
+     * Equal courses have equal fingerprints; different courses almost never do
+     * @return fingerprint of the course
+     */
+    public long getFingerprint() {
+        return fingerprint;
     }
 
     /**
@@ -90,15 +159,16 @@ public class Course {
 
     /**
      * This method returns set of Weekdays which the course is offered
+     * The set is immutable, so it is returned without copying
      * @return set of Weekdays the course is offered
      */
-    public Set<Weekday> getDaysOffered(){
-        return EnumSet.copyOf(daysOffered);
+    public DaySet getDaysOffered(){
+        return daysOffered;
     }
 
     /**
      * Determines whether other course has at least a minute overlap with this course
-     * Runs O(duration) since hasTimeOverlap is O(duration) and hasWeekdayOverlap is O(1)
+     * Runs O(1) since both hasTimeOverlap and hasWeekdayOverlap compare precomputed values
      * @param other the other course
      * @return true of this course is in session during any days and times that overlap with other course
      */
@@ -108,35 +178,22 @@ public class Course {
 
     /**
      * Determines whether other course has at least a minute overlap with this course not considering day
-     * Runs O(duration) since shift is O(duration)
+     * O(1) since the start and end minutes are computed at construction
      * @param other the other course
      * @return true of this course is in session during any days and times that overlap with other course
      */
     private boolean hasTimeOverlap(Course other){
-        Time endTime = getEndTime();
-
-        Time otherStartTime = other.startTime;
-        Time otherEndTime = other.getEndTime();
-
-        return (endTime.compareTo(otherStartTime) > 0 && startTime.compareTo(otherEndTime) < 0) ||
-                (startTime.compareTo(otherEndTime) < 0 && endTime.compareTo(otherStartTime) > 0);
+        return endMinute > other.startMinute && startMinute < other.endMinute;
     }
 
     /**
      * Determines whether other course has at least weekday overlap with this course not considering time
-     * O(1) since daysOffered is length 5 for both this object and other object
+     * O(1) since it intersects the two day masks
      * @param other the other course
      * @return true of this course is is in session in any same day as the other course
      */
     private boolean hasWeekdayOverlap(Course other){
-        for (Weekday day : daysOffered) {
-            for (Weekday otherDay : other.daysOffered) {
-                if (day == otherDay) {
-                    return true; //return true, if it happens on at least one the same day
-                }
-            }
-        }
-        return false;
+        return daysOffered.intersects(other.daysOffered);
     }
 
     /**
@@ -147,8 +204,8 @@ public class Course {
      */
     public boolean contains(Weekday day, Time time){
         if (!daysOffered.contains(day)) return false;
-        Time endTime = getEndTime();
-        return (startTime.compareTo(time) <= 0 && endTime.compareTo(time) > 0);
+        int minute = time.toMinute();
+        return startMinute <= minute && endMinute > minute;
     }
 
     /**
@@ -158,9 +215,12 @@ public class Course {
      */
     @Override
     public boolean equals(Object obj) {
+        if (obj == this) return true;
         if( obj!= null && getClass() == obj.getClass()) {
             Course other = (Course) obj;
-            return name.equals(other.name) &&
+            //different fingerprints mean different courses, so most unequal courses stop here
+            return fingerprint == other.fingerprint &&
+                    name.equals(other.name) &&
                     numCredits == other.numCredits &&
                     daysOffered.equals(other.daysOffered) &&
                     startTime.equals(other.startTime) &&
@@ -174,20 +234,43 @@ public class Course {
     /**
      * Overrides hashCode from the Object superclass
      * Whenever overriding equals method we must also override hashCode method
+     * The hash code is computed once at construction
      * @return an integer hash code for this object based on its state (hour, minute, isPM).
      */
     @Override
     public int hashCode() {
+        return hash;
+    }
+
+    private int computeHashCode() {
         //Algorithm for hashCode from Effective Java by Joshua Bloch
         int result = 17;
         result = 31 * result + name.hashCode();
         result = 31 * result + numCredits;
         result = 31 * result + durationInMinutes;
         result = 31 * result + startTime.hashCode();
-        result = 31 * result + daysOffered.hashCode();
+        result = 31 * result + daysOffered.mask();
         return result;
     }
 
+    // 64-bit FNV-1a hash of the name, mixed with the other fields packed into one long
+    private long computeFingerprint() {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < name.length(); i++) {
+            h ^= name.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        long packed = ((long) durationInMinutes << 32) | ((long) startMinute << 16) | (daysOffered.mask() << 8) | numCredits;
+        return mix(h ^ mix(packed));
+    }
+
+    // finalizer of the SplitMix64 generator; spreads every input bit over the whole result
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
     /**
      * Overrides toString from the Object superclass
      * @return a string representation of this course
@@ -195,10 +278,68 @@ public class Course {
      */
     @Override
     public String toString() {
-        StringBuilder sb = new StringBuilder();
-        for(Weekday d : daysOffered){
-            sb.append(d.toShortName());
+        return name +"," +  numCredits + "," + daysOffered.toShortNames() + "," + startTime.toString() + "," + durationInMinutes;
+    }
+
+    // Serialization: a Course is written as its SerialForm, which packs the fields into a few bytes.
+    // Every Course writes the same SerialForm object each time, so a stream holding the same course
+    // several times, for example in many schedules, stores it once and refers back to it after that
+
+    private Object writeReplace() {
+        SerialForm form = serialForm;
+        if (form == null) serialForm = form = new SerialForm(this);
+        return form;
+    }
+
+    private void readObject(ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Course is read through its SerialForm");
+    }
+
+    /**
+     * The serialized form of a Course: a version byte, the name, one int packing
+     * the credits (3 bits), day mask (5 bits) and start minute (11 bits), then the duration as a varint.
+     * Reading it gives the interned course, like Course.of
+     */
+    private static final class SerialForm implements Externalizable {
+        private static final long serialVersionUID = 1L;
+        private static final int VERSION = 1;
+
+        private Course course;
+
+        public SerialForm() {
+        }
+
+        SerialForm(Course course) {
+            this.course = course;
+        }
+
+        @Override
+        public void writeExternal(ObjectOutput out) throws IOException {
+            out.writeByte(VERSION);
+            out.writeUTF(course.name);
+            out.writeInt(course.numCredits | course.daysOffered.mask() << 3 | course.startMinute << 8);
+            CourseStreamTable.writeVarint(out, course.durationInMinutes);
+        }
+
+        @Override
+        public void readExternal(ObjectInput in) throws IOException {
+            int version = in.readUnsignedByte();
+            if (version != VERSION) throw new InvalidObjectException("unsupported Course format version " + version);
+            String name = in.readUTF();
+            int packed = in.readInt();
+            int duration = CourseStreamTable.readVarint(in);
+            try {
+                course = Course.of(name, packed & 0x7, DaySet.fromMask(packed >>> 3 & 0x1f),
+                        Time.fromMinute(packed >>> 8), duration);
+            } catch (IllegalArgumentException e) {
+                InvalidObjectException error = new InvalidObjectException("bad course " + name);
+                error.initCause(e);
+                throw error;
+            }
+        }
+
+        private Object readResolve() {
+            return course;
         }
-        return name +"," +  numCredits + "," + sb.toString() + "," + startTime.toString() + "," + durationInMinutes;
     }
 }
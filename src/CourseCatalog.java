@@ -0,0 +1,469 @@
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A CourseCatalog object holds a large, fixed collection of course definitions
+ * together with immutable secondary indexes that answer lookups without scanning
+ * every course:
+ *  - a name-prefix trie over the (uppercase) course names
+ *  - a weekday-mask index, one posting list per combination of days
+ *  - a start-time index and an end-time index, sorted by the start and end minute of each course,
+ *    which together answer which courses are in session during a time range
+ *
+ * All results are streamed lazily in course name order.
+ * For example, "EGR 2xx on TR starting from 10:00 AM" is
+ * <pre>
+ *     catalog.query()
+ *            .namePrefix("EGR 2")
+ *            .days(EnumSet.of(Weekday.TUESDAY, Weekday.THURSDAY))
+ *            .startingFrom(Time.fromString("10:00 AM"))
+ *            .stream();
+ * </pre>
+ */
+public class CourseCatalog {
+    // number of distinct weekday combinations (5 weekdays -> 2^5 masks)
+    private static final int MASK_COUNT = 1 << 5;
+    // ranges at most this large are not split further in the trie; they are searched directly
+    private static final int LEAF_SIZE = 16;
+
+    private final Course[] courses;           // sorted by name, then by time
+    private final String[] names;             // names[i] == courses[i].getName()
+    private final int[] startMinutes;         // start minute of courses[i]
+    private final int[] endMinutes;           // start minute plus duration of courses[i], past 1440 after midnight
+    private final int[] dayMasks;             // weekday mask of courses[i]
+    private final TrieNode root;              // name-prefix trie over names
+    private final int[][] positionsByMask;    // positions of courses, per weekday mask, ascending
+    private final int[] positionsByStart;     // positions of courses sorted by start minute
+    private final int[] sortedStartMinutes;   // sortedStartMinutes[i] == startMinutes[positionsByStart[i]]
+    private final int[] positionsByEnd;       // positions of courses sorted by end minute
+    private final int[] sortedEndMinutes;     // sortedEndMinutes[i] == endMinutes[positionsByEnd[i]]
+
+    /**
+     * Constructor for CourseCatalog. Builds all the indexes up front
+     * @param courses the courses in the catalog. shouldn't be null and shouldn't contain null.
+     *                otherwise, IllegalArgumentException is thrown
+     */
+    public CourseCatalog(Collection<Course> courses) {
+        if (courses == null || courses.contains(null)) throw new IllegalArgumentException();
+
+        this.courses = courses.toArray(new Course[0]);
+        Arrays.sort(this.courses, new CourseNameComparator().thenComparing(new CourseTimeComparator()));
+
+        int n = this.courses.length;
+        names = new String[n];
+        startMinutes = new int[n];
+        endMinutes = new int[n];
+        dayMasks = new int[n];
+        int[] maskCounts = new int[MASK_COUNT];
+        for (int i = 0; i < n; i++) {
+            Course c = this.courses[i];
+            names[i] = c.getName();
+            startMinutes[i] = c.getStartMinute();
+            endMinutes[i] = c.getStartMinute() + c.getDuration();
+            dayMasks[i] = c.getDayMask();
+            maskCounts[dayMasks[i]]++;
+        }
+
+        root = buildTrie(0, n, 0);
+
+        positionsByMask = new int[MASK_COUNT][];
+        for (int m = 0; m < MASK_COUNT; m++) {
+            positionsByMask[m] = new int[maskCounts[m]];
+        }
+        int[] fill = new int[MASK_COUNT];
+        for (int i = 0; i < n; i++) {
+            positionsByMask[dayMasks[i]][fill[dayMasks[i]]++] = i; //positions stay ascending
+        }
+
+        positionsByStart = new int[n];
+        sortedStartMinutes = new int[n];
+        sortByMinute(startMinutes, positionsByStart, sortedStartMinutes);
+        positionsByEnd = new int[n];
+        sortedEndMinutes = new int[n];
+        sortByMinute(endMinutes, positionsByEnd, sortedEndMinutes);
+    }
+
+    // Fills positions with 0..n-1 ordered by minutes[position], and sorted with those minutes in that order
+    private static void sortByMinute(int[] minutes, int[] positions, int[] sorted) {
+        //sort (minute, position) pairs packed into longs to avoid boxing
+        long[] keys = new long[minutes.length];
+        for (int i = 0; i < minutes.length; i++) {
+            keys[i] = ((long) minutes[i] << 32) | i;
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < minutes.length; i++) {
+            positions[i] = (int) keys[i];
+            sorted[i] = (int) (keys[i] >>> 32);
+        }
+    }
+
+    /**
+     * Returns the number of courses in this catalog
+     * @return the number of courses
+     */
+    public int size() {
+        return courses.length;
+    }
+
+    /**
+     * Returns all courses whose name starts with the given prefix, in name order
+     * @param prefix name prefix, case insensitive. shouldn't be null
+     * @return lazy stream of matching courses
+     */
+    public Stream<Course> withNamePrefix(String prefix) {
+        return query().namePrefix(prefix).stream();
+    }
+
+    /**
+     * Starts a new combined query over this catalog. Without any criteria the query matches every course
+     * @return a new query
+     */
+    public Query query() {
+        return new Query();
+    }
+
+    /**
+     * A Query object collects the criteria of one combined catalog lookup.
+     * Criteria are and-ed together.
+     */
+    public class Query {
+        private String prefix = "";
+        private boolean[] acceptedMasks;                // null when any days are accepted
+        private int fromMinute = 0;                     // inclusive
+        private int toMinute = Integer.MAX_VALUE;       // exclusive
+        private int endFromMinute = 0;                  // inclusive
+        private int endToMinute = Integer.MAX_VALUE;    // exclusive
+
+        private Query() {
+        }
+
+        /**
+         * Restricts the query to courses whose name starts with the given prefix
+         * @param prefix name prefix, case insensitive. shouldn't be null otherwise, IllegalArgumentException is thrown
+         * @return this query
+         */
+        public Query namePrefix(String prefix) {
+            if (prefix == null) throw new IllegalArgumentException();
+            this.prefix = prefix.toUpperCase();
+            return this;
+        }
+
+        /**
+         * Restricts the query to courses offered on exactly the given days
+         * @param days set of Weekday. shouldn't be null or empty otherwise, IllegalArgumentException is thrown
+         * @return this query
+         */
+        public Query days(Set<Weekday> days) {
+            int mask = checkedMaskOf(days);
+            acceptedMasks = new boolean[MASK_COUNT];
+            acceptedMasks[mask] = true;
+            return this;
+        }
+
+        /**
+         * Restricts the query to courses offered on (at least) all of the given days
+         * @param days set of Weekday. shouldn't be null or empty otherwise, IllegalArgumentException is thrown
+         * @return this query
+         */
+        public Query meetingOn(Set<Weekday> days) {
+            int mask = checkedMaskOf(days);
+            acceptedMasks = new boolean[MASK_COUNT];
+            for (int m = 0; m < MASK_COUNT; m++) {
+                acceptedMasks[m] = (m & mask) == mask;
+            }
+            return this;
+        }
+
+        /**
+         * Restricts the query to courses starting at or after the given time
+         * @param time the earliest start time (inclusive). shouldn't be null
+         * @return this query
+         */
+        public Query startingFrom(Time time) {
+            if (time == null) throw new IllegalArgumentException();
+            fromMinute = time.toMinute();
+            return this;
+        }
+
+        /**
+         * Restricts the query to courses starting before the given time
+         * @param time the latest start time (non-inclusive). shouldn't be null
+         * @return this query
+         */
+        public Query startingBefore(Time time) {
+            if (time == null) throw new IllegalArgumentException();
+            toMinute = time.toMinute();
+            return this;
+        }
+
+        /**
+         * Restricts the query to courses that end at or before the given time, so they are over by then
+         * @param time the latest end time (inclusive). shouldn't be null otherwise, IllegalArgumentException is thrown
+         * @return this query
+         */
+        public Query endingBefore(Time time) {
+            if (time == null) throw new IllegalArgumentException();
+            endToMinute = time.toMinute() + 1;
+            return this;
+        }
+
+        /**
+         * Restricts the query to courses that end after the given time, so they are still in session then
+         * or start later
+         * @param time the earliest end time (non-inclusive). shouldn't be null otherwise, IllegalArgumentException is thrown
+         * @return this query
+         */
+        public Query endingAfter(Time time) {
+            if (time == null) throw new IllegalArgumentException();
+            endFromMinute = time.toMinute() + 1;
+            return this;
+        }
+
+        /**
+         * Restricts the query to courses in session at some time in [from, to):
+         * courses starting before to and ending after from
+         * @param from start of the range (inclusive). shouldn't be null otherwise, IllegalArgumentException is thrown
+         * @param to end of the range (non-inclusive). shouldn't be null otherwise, IllegalArgumentException is thrown
+         * @return this query
+         */
+        public Query during(Time from, Time to) {
+            if (from == null || to == null) throw new IllegalArgumentException();
+            return startingBefore(to).endingAfter(from);
+        }
+
+        /**
+         * Runs the query. The most selective index drives the lookup and the other criteria are checked
+         * only for the candidates it produces, so no query scans the whole catalog
+         * @return lazy stream of matching courses in name order
+         */
+        public Stream<Course> stream() {
+            int[] range = prefixRange(prefix);
+            int lo = range[0];
+            int hi = range[1];
+            if (lo >= hi || fromMinute >= toMinute || endFromMinute >= endToMinute) return Stream.empty();
+
+            int byPrefix = hi - lo;
+            int byDays = byPrefix;
+            if (acceptedMasks != null) {
+                byDays = 0;
+                for (int m = 0; m < MASK_COUNT; m++) {
+                    if (acceptedMasks[m]) byDays += countInRange(positionsByMask[m], lo, hi);
+                }
+            }
+            boolean startFiltered = fromMinute > 0 || toMinute != Integer.MAX_VALUE;
+            int startLo = lowerBound(sortedStartMinutes, 0, sortedStartMinutes.length, fromMinute);
+            int startHi = lowerBound(sortedStartMinutes, startLo, sortedStartMinutes.length, toMinute);
+            boolean endFiltered = endFromMinute > 0 || endToMinute != Integer.MAX_VALUE;
+            int endLo = lowerBound(sortedEndMinutes, 0, sortedEndMinutes.length, endFromMinute);
+            int endHi = lowerBound(sortedEndMinutes, endLo, sortedEndMinutes.length, endToMinute);
+            boolean timeFiltered = startFiltered || endFiltered;
+            int byStart = startFiltered ? startHi - startLo : Integer.MAX_VALUE;
+            int byEnd = endFiltered ? endHi - endLo : Integer.MAX_VALUE;
+
+            PrimitiveIterator.OfInt positions;
+            if (byStart < Math.min(byEnd, Math.min(byPrefix, byDays))) {
+                positions = byTime(positionsByStart, startLo, startHi, lo, hi);
+            } else if (byEnd < Math.min(byPrefix, byDays)) {
+                positions = byTime(positionsByEnd, endLo, endHi, lo, hi);
+            } else if (acceptedMasks != null) {
+                positions = new MaskMergeIterator(lo, hi, acceptedMasks);
+            } else {
+                positions = IntStream.range(lo, hi).iterator();
+            }
+
+            Spliterator<Course> spliterator = Spliterators.spliteratorUnknownSize(
+                    new PositionIterator(positions, timeFiltered),
+                    Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.DISTINCT);
+            return StreamSupport.stream(spliterator, false);
+        }
+
+        // Collects the candidates within the range [timeLo, timeHi) of a time index
+        // and sorts them back into name order.
+        private PrimitiveIterator.OfInt byTime(int[] positionsByTime, int timeLo, int timeHi, int lo, int hi) {
+            int[] candidates = new int[timeHi - timeLo];
+            int count = 0;
+            for (int i = timeLo; i < timeHi; i++) {
+                int p = positionsByTime[i];
+                if (p >= lo && p < hi && (acceptedMasks == null || acceptedMasks[dayMasks[p]])) {
+                    candidates[count++] = p;
+                }
+            }
+            Arrays.sort(candidates, 0, count);
+            return Arrays.stream(candidates, 0, count).iterator();
+        }
+
+        // Maps positions to courses, checking the start and end times if the driving index did not
+        private class PositionIterator implements Iterator<Course> {
+            private final PrimitiveIterator.OfInt positions;
+            private final boolean checkTime;
+            private Course next;
+
+            PositionIterator(PrimitiveIterator.OfInt positions, boolean checkTime) {
+                this.positions = positions;
+                this.checkTime = checkTime;
+            }
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && positions.hasNext()) {
+                    int p = positions.nextInt();
+                    if (!checkTime || (startMinutes[p] >= fromMinute && startMinutes[p] < toMinute
+                            && endMinutes[p] >= endFromMinute && endMinutes[p] < endToMinute)) {
+                        next = courses[p];
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public Course next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                Course c = next;
+                next = null;
+                return c;
+            }
+        }
+    }
+
+    // Merges the ascending posting lists of the accepted masks, limited to positions in [lo, hi)
+    private class MaskMergeIterator implements PrimitiveIterator.OfInt {
+        private final int[][] lists;
+        private final int[] cursors;
+        private final int[] ends;
+
+        MaskMergeIterator(int lo, int hi, boolean[] acceptedMasks) {
+            int k = 0;
+            for (boolean accepted : acceptedMasks) {
+                if (accepted) k++;
+            }
+            lists = new int[k][];
+            cursors = new int[k];
+            ends = new int[k];
+            int i = 0;
+            for (int m = 0; m < MASK_COUNT; m++) {
+                if (!acceptedMasks[m]) continue;
+                lists[i] = positionsByMask[m];
+                cursors[i] = lowerBound(lists[i], 0, lists[i].length, lo);
+                ends[i] = lowerBound(lists[i], cursors[i], lists[i].length, hi);
+                i++;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            for (int i = 0; i < lists.length; i++) {
+                if (cursors[i] < ends[i]) return true;
+            }
+            return false;
+        }
+
+        @Override
+        public int nextInt() {
+            //at most 32 lists, so a linear pick of the smallest head is cheap
+            int best = -1;
+            for (int i = 0; i < lists.length; i++) {
+                if (cursors[i] < ends[i] && (best < 0 || lists[i][cursors[i]] < lists[best][cursors[best]])) {
+                    best = i;
+                }
+            }
+            if (best < 0) throw new NoSuchElementException();
+            return lists[best][cursors[best]++];
+        }
+    }
+
+    /**
+     * A TrieNode covers the range [lo, hi) of the name sorted courses whose names share the node's prefix.
+     * Small ranges are kept as leaves and are searched directly.
+     */
+    private static class TrieNode {
+        final int lo;
+        final int hi;
+        final char[] labels;        // sorted ascending, null for leaves
+        final TrieNode[] children;
+
+        TrieNode(int lo, int hi, char[] labels, TrieNode[] children) {
+            this.lo = lo;
+            this.hi = hi;
+            this.labels = labels;
+            this.children = children;
+        }
+    }
+
+    // Builds the trie node for names[lo, hi), which all share their first depth characters
+    private TrieNode buildTrie(int lo, int hi, int depth) {
+        if (hi - lo <= LEAF_SIZE) return new TrieNode(lo, hi, null, null);
+
+        //names that end at this depth sort first
+        int start = lo;
+        while (start < hi && names[start].length() == depth) start++;
+
+        int groups = 0;
+        for (int i = start; i < hi; i++) {
+            if (i == start || names[i].charAt(depth) != names[i - 1].charAt(depth)) groups++;
+        }
+        char[] labels = new char[groups];
+        TrieNode[] children = new TrieNode[groups];
+        int g = 0;
+        int i = start;
+        while (i < hi) {
+            char label = names[i].charAt(depth);
+            int j = i + 1;
+            while (j < hi && names[j].charAt(depth) == label) j++;
+            labels[g] = label;
+            children[g] = buildTrie(i, j, depth + 1);
+            g++;
+            i = j;
+        }
+        return new TrieNode(lo, hi, labels, children);
+    }
+
+    // Returns {lo, hi} so that names[lo, hi) are exactly the names starting with prefix
+    private int[] prefixRange(String prefix) {
+        TrieNode node = root;
+        int depth = 0;
+        while (node.labels != null && depth < prefix.length()) {
+            int g = Arrays.binarySearch(node.labels, prefix.charAt(depth));
+            if (g < 0) return new int[]{0, 0};
+            node = node.children[g];
+            depth++;
+        }
+        if (depth == prefix.length()) return new int[]{node.lo, node.hi};
+
+        //leaf: search the small range directly
+        int lo = node.lo;
+        while (lo < node.hi && names[lo].compareTo(prefix) < 0) lo++;
+        int hi = lo;
+        while (hi < node.hi && names[hi].startsWith(prefix)) hi++;
+        return new int[]{lo, hi};
+    }
+
+    // Returns the first index in sorted[from, to) whose value is >= key, or to if there is none
+    private static int lowerBound(int[] sorted, int from, int to, int key) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (sorted[mid] < key) from = mid + 1;
+            else to = mid;
+        }
+        return from;
+    }
+
+    // Counts the values of the ascending array that are in [lo, hi)
+    private static int countInRange(int[] sorted, int lo, int hi) {
+        int from = lowerBound(sorted, 0, sorted.length, lo);
+        return lowerBound(sorted, from, sorted.length, hi) - from;
+    }
+
+    private static int checkedMaskOf(Set<Weekday> days) {
+        if (days == null || days.isEmpty()) throw new IllegalArgumentException();
+        return DaySet.copyOf(days).mask();
+    }
+}
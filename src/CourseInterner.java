@@ -0,0 +1,94 @@
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A CourseInterner object is a thread-safe canonicalizing pool of Course objects.
+ * Equal courses (according to Course.equals) are mapped to one shared instance,
+ * so that many schedules holding the same section share one Course.
+ * The pool only holds weak references, so a course that is no longer used by
+ * any schedule can be garbage collected and is evicted from the pool.
+ */
+public class CourseInterner {
+    // the pool used by Course.of and ScheduleIO.load
+    private static final CourseInterner SHARED = new CourseInterner();
+
+    private final ConcurrentHashMap<Entry, Entry> pool = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Course> collected = new ReferenceQueue<>();
+
+    /**
+     * Returns the pool shared by the whole program
+     * @return the shared pool
+     */
+    public static CourseInterner shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the canonical instance equal to the given course.
+     * If there is none yet, the given course becomes the canonical instance
+     * @param course course to intern. shouldn't be null otherwise, IllegalArgumentException is thrown
+     * @return the shared course equal to the given course
+     */
+    public Course intern(Course course) {
+        if (course == null) throw new IllegalArgumentException();
+        expungeCollected();
+
+        Entry entry = new Entry(course, collected);
+        while (true) {
+            Entry existing = pool.putIfAbsent(entry, entry);
+            if (existing == null) return course;
+
+            Course canonical = existing.get();
+            if (canonical != null) return canonical;
+
+            //the canonical instance was just collected; drop its entry and try again
+            pool.remove(existing, existing);
+        }
+    }
+
+    /**
+     * Returns the number of courses currently in the pool.
+     * Collected courses may still be counted until the pool notices they are gone
+     * @return the number of pooled courses
+     */
+    public int size() {
+        expungeCollected();
+        return pool.size();
+    }
+
+    // Removes the entries whose courses have been garbage collected
+    private void expungeCollected() {
+        Object ref;
+        while ((ref = collected.poll()) != null) {
+            pool.remove(ref, ref);
+        }
+    }
+
+    /**
+     * An Entry object is a weak reference to a pooled course that remembers the course's hash code,
+     * so it can still be found and removed from the map after the course is collected.
+     * Two entries are equal if they are the same entry or if they refer to equal live courses
+     */
+    private static class Entry extends WeakReference<Course> {
+        private final int hash;
+
+        Entry(Course course, ReferenceQueue<Course> queue) {
+            super(course, queue);
+            hash = course.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) return true;
+            if (!(obj instanceof Entry)) return false;
+            Course course = get();
+            return course != null && course.equals(((Entry) obj).get());
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A CourseIntervalIndex object answers "which courses are in session during this window?"
+ * over any collection of courses, for example a whole catalog.
+ * Unlike a Schedule, the courses may conflict with each other.
+ * It keeps one interval tree per weekday, so inserts and deletes run O(log n) per day offered
+ * and a query visits only the parts of the trees that can hold a matching course.
+ * Results are lazy streams ordered by start time.
+ * Not thread-safe; don't modify the index while consuming a result stream.
+ */
+public class CourseIntervalIndex {
+    private final EnumMap<Weekday, CourseIntervalTree> trees = new EnumMap<>(Weekday.class);
+    private int size;
+
+    /**
+     * Constructor for an empty CourseIntervalIndex
+     */
+    public CourseIntervalIndex() {
+        for (Weekday day : Weekday.values()) {
+            trees.put(day, new CourseIntervalTree());
+        }
+    }
+
+    /**
+     * Constructor for a CourseIntervalIndex holding the given courses
+     * @param courses the courses to index. shouldn't be null
+     */
+    public CourseIntervalIndex(Collection<Course> courses) {
+        this();
+        for (Course c : courses) {
+            insert(c);
+        }
+    }
+
+    /**
+     * Adds the course to this index
+     * @param course the course to add. shouldn't be null otherwise, IllegalArgumentException is thrown
+     * @return true if the course was not in the index yet
+     */
+    public boolean add(Course course) {
+        return insert(course);
+    }
+
+    // Adds the course; the constructor uses this rather than add, which a subclass may override
+    private boolean insert(Course course) {
+        if (course == null) throw new IllegalArgumentException();
+        boolean added = false;
+        for (Weekday day : course.getDaysOffered()) {
+            added = trees.get(day).add(course);
+        }
+        if (added) size++;
+        return added;
+    }
+
+    /**
+     * Removes the course from this index
+     * @param course the course to remove
+     * @return true if the course was in the index
+     */
+    public boolean remove(Course course) {
+        if (course == null) return false;
+        boolean removed = false;
+        for (Weekday day : course.getDaysOffered()) {
+            removed = trees.get(day).remove(course);
+        }
+        if (removed) size--;
+        return removed;
+    }
+
+    /**
+     * Returns the number of courses in this index
+     * @return the number of courses
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the courses in session during the given day and time
+     * @param day
+     * @param time
+     * @return lazy stream of courses, ordered by start time
+     */
+    public Stream<Course> coursesAt(Weekday day, Time time) {
+        int minute = time.toMinute();
+        return stream(trees.get(day).overlapping(minute, minute + 1));
+    }
+
+    /**
+     * Returns the courses in session at any time during [from, to) on the given day
+     * @param day
+     * @param from start of the window (inclusive)
+     * @param to end of the window (non-inclusive)
+     * @return lazy stream of courses, ordered by start time
+     */
+    public Stream<Course> coursesDuring(Weekday day, Time from, Time to) {
+        return stream(trees.get(day).overlapping(from.toMinute(), to.toMinute()));
+    }
+
+    /**
+     * Returns the courses in session at any time during [from, to) on any of the given days.
+     * Each course is returned once, even if it is offered on several of the days
+     * @param days
+     * @param from start of the window (inclusive)
+     * @param to end of the window (non-inclusive)
+     * @return lazy stream of courses, ordered by day and then by start time
+     */
+    public Stream<Course> coursesDuring(Set<Weekday> days, Time from, Time to) {
+        int mask = DaySet.copyOf(days).mask();
+        return DaySet.fromMask(mask).stream()
+                .flatMap(day -> coursesDuring(day, from, to)
+                        //report a course only for the first of the days it shares with the query
+                        .filter(c -> Integer.numberOfTrailingZeros(c.getDayMask() & mask) == day.ordinal()));
+    }
+
+    private static Stream<Course> stream(Iterator<Course> courses) {
+        Spliterator<Course> spliterator = Spliterators.spliteratorUnknownSize(courses,
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.DISTINCT);
+        return StreamSupport.stream(spliterator, false);
+    }
+}
@@ -0,0 +1,209 @@
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+/**
+ * A CourseIntervalTree object stores courses as intervals [start minute, start minute + duration)
+ * of one day, ignoring the days the courses are offered on.
+ * It is a treap ordered by start minute in which every node also knows the largest end minute
+ * in its subtree, so overlap queries skip every subtree that ends too early or starts too late.
+ * Courses may overlap each other. Equal courses are stored once.
+ * Not thread-safe.
+ */
+class CourseIntervalTree {
+    private Node root;
+    private int size;
+    private final SplittableRandom priorities = new SplittableRandom(222);
+
+    private static class Node {
+        final Course course;
+        final int start;
+        final int end;
+        final long priority;
+        int maxEnd;
+        Node left;
+        Node right;
+
+        Node(Course course, long priority) {
+            this.course = course;
+            this.start = course.getStartMinute();
+            this.end = start + course.getDuration();
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+
+        void update() {
+            maxEnd = end;
+            if (left != null && left.maxEnd > maxEnd) maxEnd = left.maxEnd;
+            if (right != null && right.maxEnd > maxEnd) maxEnd = right.maxEnd;
+        }
+    }
+
+    /**
+     * Returns the number of courses in this tree
+     * @return the number of courses
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Adds the course to this tree. Runs O(log n) expected
+     * @param course
+     * @return true if the course was not in the tree yet
+     */
+    boolean add(Course course) {
+        int before = size;
+        root = insert(root, new Node(course, priorities.nextLong()));
+        return size != before;
+    }
+
+    /**
+     * Removes the course from this tree. Runs O(log n) expected
+     * @param course
+     * @return true if the course was in the tree
+     */
+    boolean remove(Course course) {
+        int before = size;
+        root = delete(root, course);
+        return size != before;
+    }
+
+    /**
+     * Returns the courses whose interval overlaps [from, to), ordered by start minute.
+     * The iterator walks the tree lazily and only enters subtrees that can hold an overlapping course
+     * @param from start of the window in minutes (inclusive)
+     * @param to end of the window in minutes (non-inclusive)
+     * @return iterator over the overlapping courses
+     */
+    Iterator<Course> overlapping(int from, int to) {
+        return new OverlapIterator(from, to);
+    }
+
+    private Node insert(Node node, Node added) {
+        if (node == null) {
+            size++;
+            return added;
+        }
+        int cmp = compare(added.course, node.course);
+        if (cmp == 0) return node;
+        if (cmp < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) node = rotateRight(node);
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) node = rotateLeft(node);
+        }
+        node.update();
+        return node;
+    }
+
+    private Node delete(Node node, Course course) {
+        if (node == null) return null;
+        int cmp = compare(course, node.course);
+        if (cmp < 0) {
+            node.left = delete(node.left, course);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, course);
+        } else {
+            size--;
+            return merge(node.left, node.right);
+        }
+        node.update();
+        return node;
+    }
+
+    // Joins two treaps where every course in left sorts before every course in right
+    private static Node merge(Node left, Node right) {
+        if (left == null) return right;
+        if (right == null) return left;
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        } else {
+            right.left = merge(left, right.left);
+            right.update();
+            return right;
+        }
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    // Orders courses by start and end first, then by the remaining fields, so that only equal courses compare 0
+    private static int compare(Course a, Course b) {
+        if (a.equals(b)) return 0;
+        int cmp = Integer.compare(a.getStartMinute(), b.getStartMinute());
+        if (cmp == 0) cmp = Integer.compare(a.getDuration(), b.getDuration());
+        if (cmp == 0) cmp = Long.compare(a.getFingerprint(), b.getFingerprint());
+        if (cmp == 0) cmp = a.getName().compareTo(b.getName());
+        if (cmp == 0) cmp = Integer.compare(a.getCredits(), b.getCredits());
+        if (cmp == 0) cmp = Integer.compare(a.getDayMask(), b.getDayMask());
+        return cmp;
+    }
+
+    /**
+     * An in-order walk that skips subtrees ending at or before from
+     * and stops at the first node starting at or after to
+     */
+    private class OverlapIterator implements Iterator<Course> {
+        private final int from;
+        private final int to;
+        private final Deque<Node> stack = new ArrayDeque<>();
+        private Course next;
+
+        OverlapIterator(int from, int to) {
+            this.from = from;
+            this.to = to;
+            if (from < to) descend(root);
+        }
+
+        // Pushes the left spine of the subtree, leaving out subtrees that end too early
+        private void descend(Node node) {
+            while (node != null && node.maxEnd > from) {
+                stack.push(node);
+                node = node.left;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && !stack.isEmpty()) {
+                Node node = stack.pop();
+                if (node.start >= to) {
+                    stack.clear(); //every later node starts even later
+                    break;
+                }
+                descend(node.right);
+                if (node.end > from) next = node.course;
+            }
+            return next != null;
+        }
+
+        @Override
+        public Course next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            Course c = next;
+            next = null;
+            return c;
+        }
+    }
+}
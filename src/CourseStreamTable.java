@@ -0,0 +1,142 @@
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Writes courses inline into the serialized form of a schedule, and reads them back.
+ * There is one table per object stream on each side, so a course written again anywhere in the same
+ * stream, for example in another schedule, is written as a reference to its first copy.
+ * A new course takes about 8 bytes: names are split into a prefix such as "EGR " kept in
+ * the table too, and the number after it as a varint; credits and days share a byte; the start
+ * minute and duration are varints.
+ * Both sides see the courses in the same order, so the tables stay in step without being written.
+ */
+final class CourseStreamTable {
+    private static final Map<ObjectOutput, CourseStreamTable> OUTPUTS = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Map<ObjectInput, CourseStreamTable> INPUTS = Collections.synchronizedMap(new WeakHashMap<>());
+    // the most digits of a course number written as a varint; longer numbers are written as text
+    private static final int MAX_NUMBER_DIGITS = 9;
+
+    // written side
+    private final Map<Course, Integer> courseIds = new HashMap<>();
+    private final Map<String, Integer> prefixIds = new HashMap<>();
+    // read side
+    private final List<Course> courses = new ArrayList<>();
+    private final List<String> prefixes = new ArrayList<>();
+
+    private CourseStreamTable() {
+    }
+
+    // The table of the given stream, created the first time the stream writes a course.
+    // Streams aren't shared between threads, so each table is only used by one thread at a time
+    static CourseStreamTable of(ObjectOutput out) {
+        return OUTPUTS.computeIfAbsent(out, o -> new CourseStreamTable());
+    }
+
+    static CourseStreamTable of(ObjectInput in) {
+        return INPUTS.computeIfAbsent(in, i -> new CourseStreamTable());
+    }
+
+    // Writes one tag: 2k + 1 refers to course k of the table; 2p starts a new course whose name
+    // has prefix p of the table, and a new prefix (p the size of the table) is written after it
+    void write(ObjectOutput out, Course course) throws IOException {
+        Integer id = courseIds.get(course);
+        if (id != null) {
+            writeVarint(out, 2 * id + 1);
+            return;
+        }
+        courseIds.put(course, courseIds.size());
+
+        String name = course.getName();
+        int split = name.lastIndexOf(' ') + 1;
+        String prefix = name.substring(0, split);
+        String suffix = name.substring(split);
+        Integer prefixId = prefixIds.get(prefix);
+        if (prefixId == null) {
+            writeVarint(out, 2 * prefixIds.size());
+            out.writeUTF(prefix);
+            prefixIds.put(prefix, prefixIds.size());
+        } else {
+            writeVarint(out, 2 * prefixId);
+        }
+        // a plain number is written as 2n, anything else as 1 and then the text
+        if (isNumber(suffix)) {
+            writeVarint(out, 2 * Integer.parseInt(suffix));
+        } else {
+            writeVarint(out, 1);
+            out.writeUTF(suffix);
+        }
+        out.writeByte(course.getCredits() | course.getDaysOffered().mask() << 3);
+        writeVarint(out, course.getStartMinute());
+        writeVarint(out, course.getDuration());
+    }
+
+    Course read(ObjectInput in) throws IOException {
+        int tag = readVarint(in);
+        if ((tag & 1) != 0) {
+            int id = tag >>> 1;
+            if (id >= courses.size()) throw new InvalidObjectException("bad course reference " + id);
+            return courses.get(id);
+        }
+
+        int prefixId = tag >>> 1;
+        if (prefixId == prefixes.size()) {
+            prefixes.add(in.readUTF());
+        } else if (prefixId > prefixes.size()) {
+            throw new InvalidObjectException("bad name reference " + prefixId);
+        }
+        int suffix = readVarint(in);
+        String name = prefixes.get(prefixId) + ((suffix & 1) == 0 ? String.valueOf(suffix >>> 1) : in.readUTF());
+        int packed = in.readUnsignedByte();
+        int start = readVarint(in);
+        int duration = readVarint(in);
+        Course course;
+        try {
+            course = Course.of(name, packed & 0x7, DaySet.fromMask(packed >>> 3), Time.fromMinute(start), duration);
+        } catch (IllegalArgumentException e) {
+            InvalidObjectException error = new InvalidObjectException("bad course " + name);
+            error.initCause(e);
+            throw error;
+        }
+        courses.add(course);
+        return course;
+    }
+
+    // Whether the text is a number that reads back the same, without sign or leading zeros
+    private static boolean isNumber(String text) {
+        if (text.isEmpty() || text.length() > MAX_NUMBER_DIGITS || (text.charAt(0) == '0' && text.length() > 1)) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) < '0' || text.charAt(i) > '9') return false;
+        }
+        return true;
+    }
+
+    // Writes a non-negative int in 7 bit groups, low group first
+    static void writeVarint(ObjectOutput out, int value) throws IOException {
+        while ((value & ~0x7f) != 0) {
+            out.writeByte(value & 0x7f | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    static int readVarint(ObjectInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.readUnsignedByte();
+            //the fifth group holds only the top 4 bits of an int, and the sign bit must stay clear
+            if (shift == 28 && b > 0x07) throw new InvalidObjectException("bad varint");
+            value |= (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+    }
+}
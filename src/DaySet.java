@@ -0,0 +1,202 @@
+import java.io.InvalidObjectException;
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A DaySet object is an immutable set of Weekday values stored as a 5-bit mask,
+ * with bit i set if the set contains Weekday.values()[i].
+ * There is exactly one instance per mask (32 in total), so DaySet objects are never allocated
+ * after class initialization and can be compared by mask or by reference.
+ *
+ * DaySet is a Set of Weekday, so it can be passed wherever the Set API is expected.
+ * Like any unmodifiable set, its add and remove methods throw UnsupportedOperationException.
+ * It is Serializable like the JDK's sets, and reading one gives back the shared instance.
+ */
+public final class DaySet extends AbstractSet<Weekday> implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final Weekday[] DAYS = Weekday.values();
+    private static final int MASK_COUNT = 1 << DAYS.length;
+    private static final DaySet[] CANONICAL = new DaySet[MASK_COUNT];
+
+    static {
+        for (int mask = 0; mask < MASK_COUNT; mask++) {
+            CANONICAL[mask] = new DaySet(mask);
+        }
+    }
+
+    private final int mask;
+    private final int size;
+    private final int hash;
+    private final String shortNames;
+
+    private DaySet(int mask) {
+        this.mask = mask;
+        this.size = Integer.bitCount(mask);
+        StringBuilder sb = new StringBuilder();
+        int h = 0;
+        for (int i = 0; i < DAYS.length; i++) {
+            if ((mask & (1 << i)) != 0) {
+                sb.append(DAYS[i].toShortName());
+                h += DAYS[i].hashCode(); //same hash code as any other Set with these days
+            }
+        }
+        this.shortNames = sb.toString();
+        this.hash = h;
+    }
+
+    /**
+     * Returns the set for the given mask
+     * @param mask 5-bit mask, between 0 and 31 otherwise, IllegalArgumentException is thrown
+     * @return the DaySet with the given mask
+     */
+    public static DaySet fromMask(int mask) {
+        if (mask < 0 || mask >= MASK_COUNT) throw new IllegalArgumentException("mask should be between 0-31 inclusive");
+        return CANONICAL[mask];
+    }
+
+    /**
+     * Returns the set containing the given days
+     * @param days the days. shouldn't contain null otherwise, IllegalArgumentException is thrown
+     * @return the DaySet with the given days
+     */
+    public static DaySet of(Weekday... days) {
+        int mask = 0;
+        for (Weekday d : days) {
+            if (d == null) throw new IllegalArgumentException();
+            mask |= bit(d);
+        }
+        return CANONICAL[mask];
+    }
+
+    /**
+     * Returns the set containing the same days as the given collection
+     * @param days the days. shouldn't be null or contain null otherwise, IllegalArgumentException is thrown
+     * @return the DaySet with the given days
+     */
+    public static DaySet copyOf(Collection<Weekday> days) {
+        if (days instanceof DaySet) return (DaySet) days;
+        if (days == null) throw new IllegalArgumentException();
+        int mask = 0;
+        for (Weekday d : days) {
+            if (d == null) throw new IllegalArgumentException();
+            mask |= bit(d);
+        }
+        return CANONICAL[mask];
+    }
+
+    /**
+     * Converts a string of short day names into a set.
+     * For example, turns "MWF" into the set [MONDAY, WEDNESDAY, FRIDAY]
+     * @param shortNames string of condensed weekday names, such as "MWF". shouldn't be null
+     *                   otherwise, IllegalArgumentException is thrown
+     * @return the DaySet with the given days
+     * @throws IllegalArgumentException if a character is not a short day name
+     */
+    public static DaySet fromShortNames(String shortNames) {
+        if (shortNames == null) throw new IllegalArgumentException();
+        int mask = 0;
+        for (int i = 0; i < shortNames.length(); i++) {
+            mask |= bit(Weekday.fromShortName(shortNames.charAt(i)));
+        }
+        return CANONICAL[mask];
+    }
+
+    /**
+     * Returns the 5-bit mask of this set
+     * @return mask with bit i set if this set contains Weekday.values()[i]
+     */
+    public int mask() {
+        return mask;
+    }
+
+    /**
+     * Determines whether this set and the other set have at least one day in common
+     * @param other the other set
+     * @return true if there is a day in both sets
+     */
+    public boolean intersects(DaySet other) {
+        return (mask & other.mask) != 0;
+    }
+
+    /**
+     * Returns true if this set contains the given day
+     * @param day
+     * @return true if day is in this set
+     */
+    public boolean contains(Weekday day) {
+        return day != null && (mask & bit(day)) != 0;
+    }
+
+    @Override
+    public boolean contains(Object obj) {
+        return obj instanceof Weekday && contains((Weekday) obj);
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        if (c instanceof DaySet) return (((DaySet) c).mask & ~mask) == 0;
+        return super.containsAll(c);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns an iterator over the days of this set in Weekday order
+     * @return an iterator that doesn't support remove
+     */
+    @Override
+    public Iterator<Weekday> iterator() {
+        return new Iterator<Weekday>() {
+            private int remaining = mask;
+
+            @Override
+            public boolean hasNext() {
+                return remaining != 0;
+            }
+
+            @Override
+            public Weekday next() {
+                if (remaining == 0) throw new NoSuchElementException();
+                int i = Integer.numberOfTrailingZeros(remaining);
+                remaining &= remaining - 1; //clear the lowest set bit
+                return DAYS[i];
+            }
+        };
+    }
+
+    /**
+     * Returns the short names of the days in this set
+     * @return for example "MWF"
+     */
+    public String toShortNames() {
+        return shortNames;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) return true;
+        if (obj instanceof DaySet) return false; //canonical instances, so another DaySet has another mask
+        return super.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    private static int bit(Weekday day) {
+        return 1 << day.ordinal();
+    }
+
+    // Replaces a read set with the shared instance of its mask, so sets still compare by reference
+    private Object readResolve() throws InvalidObjectException {
+        if (mask < 0 || mask >= MASK_COUNT) throw new InvalidObjectException("bad day mask " + mask);
+        return CANONICAL[mask];
+    }
+}
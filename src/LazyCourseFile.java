@@ -0,0 +1,231 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.InputMismatchException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * A LazyCourseFile object is a read-only list view of the courses in a schedule file
+ * that parses a course only when it is accessed.
+ * Opening the file builds an index of where each non-blank line starts and ends.
+ * The index is saved next to the file as a ".idx" sidecar and memory-mapped when the file
+ * is opened again, so reopening an unchanged file does not scan it.
+ * Parsed courses are kept in a bounded least-recently-used cache.
+ * The courses are not checked for conflicts with each other.
+ * Thread-safe; the file must not change while it is open.
+ */
+public class LazyCourseFile extends AbstractList<Course> implements RandomAccess, Closeable {
+    /** number of parsed courses kept by default */
+    public static final int DEFAULT_CACHE_SIZE = 1024;
+
+    private static final String SIDECAR_SUFFIX = ".idx";
+    private static final long SIDECAR_MAGIC = 0x4547523232324958L; // "EGR222IX"
+    // magic, file size, file modification time, record count
+    private static final int SIDECAR_HEADER_BYTES = 4 * Long.BYTES;
+    private static final int SCAN_BUFFER_BYTES = 1 << 16;
+
+    private final Path file;
+    private final FileChannel channel;
+    // for record i, get(2i) is the offset of its first byte and get(2i + 1) the offset just past its last byte
+    private final LongBuffer bounds;
+    private final int size;
+    private final Map<Integer, Course> cache;
+
+    private LazyCourseFile(Path file, FileChannel channel, LongBuffer bounds, int cacheSize) {
+        this.file = file;
+        this.channel = channel;
+        this.bounds = bounds;
+        this.size = bounds.limit() / 2;
+        this.cache = new LinkedHashMap<Integer, Course>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Course> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Opens the schedule file with the default cache size
+     * @param file the schedule file
+     * @return lazy list of the courses in the file
+     */
+    public static LazyCourseFile open(Path file) throws IOException {
+        return open(file, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Opens the schedule file, reusing its index sidecar if it is up to date
+     * and otherwise scanning the file and writing a new sidecar
+     * @param file the schedule file
+     * @param cacheSize the most parsed courses to keep. should be positive otherwise, IllegalArgumentException is thrown
+     * @return lazy list of the courses in the file
+     */
+    public static LazyCourseFile open(Path file, int cacheSize) throws IOException {
+        if (cacheSize <= 0) throw new IllegalArgumentException();
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long fileSize = channel.size();
+            long modified = Files.getLastModifiedTime(file).toMillis();
+            Path sidecar = sidecarOf(file);
+
+            LongBuffer bounds = readSidecar(sidecar, fileSize, modified);
+            if (bounds == null) {
+                long[] scanned = scan(channel);
+                writeSidecar(sidecar, fileSize, modified, scanned);
+                bounds = LongBuffer.wrap(scanned);
+            }
+            return new LazyCourseFile(file, channel, bounds, cacheSize);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the course on the given record, parsing it if it is not cached
+     * @param index index of the course among the non-blank lines of the file
+     * @return the course
+     * @throws InputMismatchException if the line is malformed
+     */
+    @Override
+    public Course get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        synchronized (cache) {
+            Course c = cache.get(index);
+            if (c != null) return c;
+        }
+
+        Course c;
+        try {
+            c = ScheduleIO.parseCourse(readRecord(index));
+        } catch (RuntimeException e) {
+            InputMismatchException error = new InputMismatchException(file + ", record " + index + ": " + e.getMessage());
+            error.initCause(e);
+            throw error;
+        }
+        synchronized (cache) {
+            cache.put(index, c);
+        }
+        return c;
+    }
+
+    /**
+     * Returns the number of courses in the file, without parsing any of them
+     * @return the number of non-blank lines
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Closes the file. Courses can't be read afterwards
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // Reads the text of one record with a positional read, so readers on different threads don't share a position
+    private String readRecord(int index) {
+        long start = bounds.get(2 * index);
+        long end = bounds.get(2 * index + 1);
+        ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+        try {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, start + buffer.position()) < 0) break;
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+    }
+
+    static Path sidecarOf(Path file) {
+        return file.resolveSibling(file.getFileName() + SIDECAR_SUFFIX);
+    }
+
+    // Finds the start and end of every non-blank line, leaving out the line break and a trailing '\r'
+    private static long[] scan(FileChannel channel) throws IOException {
+        long[] bounds = new long[64];
+        int n = 0;
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_BYTES);
+        long position = 0;
+        long lineStart = 0;
+        boolean endsWithCr = false;
+        while (true) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read < 0) break;
+            for (int i = 0; i < read; i++) {
+                byte b = buffer.get(i);
+                if (b == '\n') {
+                    long lineEnd = endsWithCr ? position + i - 1 : position + i;
+                    if (lineEnd > lineStart) {
+                        if (n == bounds.length) bounds = Arrays.copyOf(bounds, n * 2);
+                        bounds[n++] = lineStart;
+                        bounds[n++] = lineEnd;
+                    }
+                    lineStart = position + i + 1;
+                }
+                endsWithCr = b == '\r';
+            }
+            position += read;
+        }
+        long lineEnd = endsWithCr ? position - 1 : position;
+        if (lineEnd > lineStart) {
+            if (n == bounds.length) bounds = Arrays.copyOf(bounds, n * 2);
+            bounds[n++] = lineStart;
+            bounds[n++] = lineEnd;
+        }
+        return Arrays.copyOf(bounds, n);
+    }
+
+    // Maps the sidecar if it describes the file as it is now, otherwise returns null
+    private static LongBuffer readSidecar(Path sidecar, long fileSize, long modified) {
+        if (!Files.isRegularFile(sidecar)) return null;
+        try (FileChannel in = FileChannel.open(sidecar, StandardOpenOption.READ)) {
+            if (in.size() < SIDECAR_HEADER_BYTES) return null;
+            LongBuffer mapped = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size()).asLongBuffer();
+            long count = mapped.get(3);
+            if (mapped.get(0) != SIDECAR_MAGIC || mapped.get(1) != fileSize || mapped.get(2) != modified
+                    || mapped.limit() != 4 + 2 * count) {
+                return null;
+            }
+            mapped.position(4);
+            return mapped.slice(); // the mapping stays valid after the channel is closed
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // Saves the index; a sidecar that can't be written only costs a scan on the next open
+    private static void writeSidecar(Path sidecar, long fileSize, long modified, long[] bounds) {
+        ByteBuffer buffer = ByteBuffer.allocate(SIDECAR_HEADER_BYTES + bounds.length * Long.BYTES);
+        buffer.putLong(SIDECAR_MAGIC).putLong(fileSize).putLong(modified).putLong(bounds.length / 2);
+        buffer.asLongBuffer().put(bounds);
+        buffer.clear();
+        try (FileChannel out = FileChannel.open(sidecar, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+        } catch (IOException e) {
+            try {
+                Files.deleteIfExists(sidecar);
+            } catch (IOException ignored) {
+                //nothing else to clean up
+            }
+        }
+    }
+}
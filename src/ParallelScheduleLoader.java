@@ -0,0 +1,266 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.InputMismatchException;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A ParallelScheduleLoader object loads one large schedule file on a fork/join pool.
+ * The file is split into byte ranges that end at line boundaries, each range is read and parsed
+ * on its own, and the courses are merged back in file order. Conflicts are detected afterwards
+ * in one sort-based pass per weekday instead of checking every course while adding it.
+ * Errors report the line number within the whole file.
+ * Used through ScheduleIO.loadParallel.
+ */
+class ParallelScheduleLoader {
+    // ranges are no bigger than this, so every task holds a bounded amount of text
+    private static final int MAX_CHUNK_BYTES = 16 << 20;
+    // by default ranges are no smaller than this, so small files are not split into tiny tasks
+    static final int MIN_CHUNK_BYTES = 1 << 20;
+    // how far ahead of a split point to look for the end of the line at a time
+    private static final int BOUNDARY_WINDOW = 4096;
+
+    private final Path file;
+    private final ForkJoinPool pool;
+    private final int minChunkBytes;
+
+    ParallelScheduleLoader(Path file, ForkJoinPool pool, int minChunkBytes) {
+        this.file = file;
+        this.pool = pool;
+        this.minChunkBytes = minChunkBytes;
+    }
+
+    Schedule load() throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] bounds = chunkBounds(channel);
+            Chunk[] chunks = new Chunk[bounds.length - 1];
+            for (int i = 0; i < chunks.length; i++) {
+                chunks[i] = new Chunk(bounds[i], bounds[i + 1]);
+            }
+            try {
+                pool.invoke(new ParseTask(channel, chunks, 0, chunks.length));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return merge(chunks);
+        }
+    }
+
+    // Returns the start offsets of the chunks followed by the file size.
+    // Every chunk but the first starts right after a newline
+    private long[] chunkBounds(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long chunkCount = Math.max(pool.getParallelism() * 4L, (size + MAX_CHUNK_BYTES - 1) / MAX_CHUNK_BYTES);
+        chunkCount = Math.max(1, Math.min(chunkCount, size / minChunkBytes));
+
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        for (long i = 1; i < chunkCount; i++) {
+            long bound = lineStartAtOrAfter(channel, size * i / chunkCount, size);
+            if (bound > bounds.get(bounds.size() - 1) && bound < size) bounds.add(bound);
+        }
+        bounds.add(size);
+
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = bounds.get(i);
+        }
+        return result;
+    }
+
+    // Returns the offset of the first line that starts at or after position
+    private static long lineStartAtOrAfter(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer window = ByteBuffer.allocate(BOUNDARY_WINDOW);
+        long offset = position - 1; //if the byte before position is a newline, position starts a line
+        while (offset < size) {
+            window.clear();
+            int read = channel.read(window, offset);
+            if (read <= 0) break;
+            for (int i = 0; i < read; i++) {
+                if (window.get(i) == '\n') return offset + i + 1;
+            }
+            offset += read;
+        }
+        return size;
+    }
+
+    // Joins the chunks in file order, converting chunk line numbers into file line numbers,
+    // then checks all courses for conflicts at once
+    private static Schedule merge(Chunk[] chunks) {
+        int total = 0;
+        int firstLine = 1;
+        for (Chunk chunk : chunks) {
+            if (chunk.error != null) {
+                int line = firstLine + chunk.errorLine;
+                InputMismatchException e = new InputMismatchException("line " + line + ": " + chunk.error);
+                e.initCause(chunk.error);
+                throw e;
+            }
+            total += chunk.courses.size();
+            firstLine += chunk.lineCount;
+        }
+
+        Course[] courses = new Course[total];
+        int[] lines = new int[total];
+        int n = 0;
+        firstLine = 1;
+        for (Chunk chunk : chunks) {
+            for (int i = 0; i < chunk.courses.size(); i++) {
+                courses[n] = chunk.courses.get(i);
+                lines[n] = firstLine + chunk.lines[i];
+                n++;
+            }
+            firstLine += chunk.lineCount;
+        }
+
+        checkConflicts(courses, lines);
+
+        Schedule schedule = new Schedule();
+        for (Course c : courses) {
+            schedule.addWithoutChecking(c);
+        }
+        return schedule;
+    }
+
+    // Sorts each day's courses by start minute and sweeps them, keeping every course still in session.
+    // A course conflicts, in the sense of Course.conflictsWith, with exactly the courses of its day that
+    // are still in session when it starts, since end minutes don't wrap at midnight.
+    // Of the conflicts found, the one whose later line comes first in the file is reported, which is
+    // the line a line by line load fails on; it is paired with the first line it conflicts with
+    private static void checkConflicts(Course[] courses, int[] lines) {
+        int bestA = -1;
+        int bestB = -1;
+        long[] keys = new long[courses.length];
+        for (Weekday day : Weekday.values()) {
+            int count = 0;
+            for (int i = 0; i < courses.length; i++) {
+                if (courses[i].getDaysOffered().contains(day)) {
+                    keys[count++] = ((long) courses[i].getStartMinute() << 32) | i;
+                }
+            }
+            Arrays.sort(keys, 0, count);
+
+            //the courses in session, by end minute to drop them, and by file position to pair them
+            PriorityQueue<Long> byEnd = new PriorityQueue<>();
+            TreeSet<Integer> inSession = new TreeSet<>();
+            for (int k = 0; k < count; k++) {
+                int i = (int) keys[k];
+                Course c = courses[i];
+                while (!byEnd.isEmpty() && (int) (byEnd.peek() >>> 32) <= c.getStartMinute()) {
+                    inSession.remove((int) (long) byEnd.poll());
+                }
+                if (!inSession.isEmpty()) {
+                    Integer earlier = inSession.lower(i);
+                    int a = earlier != null ? inSession.first() : i;
+                    int b = earlier != null ? i : inSession.first();
+                    if (bestB < 0 || b < bestB) {
+                        bestA = a;
+                        bestB = b;
+                    }
+                }
+                byEnd.add(((long) c.getEndMinute() << 32) | i);
+                inSession.add(i);
+            }
+        }
+        if (bestA >= 0) {
+            throw new ScheduleConflictException(courses[bestA], lines[bestA], courses[bestB], lines[bestB]);
+        }
+    }
+
+    /**
+     * A Chunk object is one byte range of the file and, once parsed, its courses.
+     * Parsing stops at the first bad line of the chunk
+     */
+    private static class Chunk {
+        final long start;
+        final long end;
+        List<Course> courses;
+        int[] lines;          //lines[i] is the 0-based line within the chunk of courses.get(i)
+        int lineCount;
+        RuntimeException error;
+        int errorLine;        //0-based line within the chunk of the error
+
+        Chunk(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        void parse(FileChannel channel) throws IOException {
+            byte[] bytes = new byte[(int) (end - start)];
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, start + buffer.position()) < 0) break;
+            }
+
+            courses = new ArrayList<>();
+            lines = new int[16];
+            int lineStart = 0;
+            while (lineStart < bytes.length) {
+                int lineEnd = lineStart;
+                while (lineEnd < bytes.length && bytes[lineEnd] != '\n') lineEnd++;
+                int textEnd = lineEnd;
+                if (textEnd > lineStart && bytes[textEnd - 1] == '\r') textEnd--;
+
+                String line = new String(bytes, lineStart, textEnd - lineStart, StandardCharsets.UTF_8);
+                try {
+                    Course course = ScheduleIO.parseCourse(line);
+                    if (course != null) {
+                        if (courses.size() == lines.length) lines = Arrays.copyOf(lines, lines.length * 2);
+                        lines[courses.size()] = lineCount;
+                        courses.add(course);
+                    }
+                } catch (RuntimeException e) {
+                    error = e;
+                    errorLine = lineCount;
+                    return;
+                }
+                lineCount++;
+                lineStart = lineEnd + 1;
+            }
+        }
+    }
+
+    /**
+     * Parses the chunks [lo, hi), splitting the range in halves until one chunk is left
+     */
+    private static class ParseTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        //a task is only ever run in this JVM, never serialized, so the file and chunks aren't written
+        private final transient FileChannel channel;
+        private final transient Chunk[] chunks;
+        private final int lo;
+        private final int hi;
+
+        ParseTask(FileChannel channel, Chunk[] chunks, int lo, int hi) {
+            this.channel = channel;
+            this.chunks = chunks;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo == 1) {
+                try {
+                    chunks[lo].parse(channel);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new ParseTask(channel, chunks, lo, mid), new ParseTask(channel, chunks, mid, hi));
+        }
+    }
+}
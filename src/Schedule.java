@@ -1,23 +1,153 @@
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutput;
 import java.io.PrintStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 
 /**
  * Created by mhan on 10/15/2016.
  * A Schedule object stores information about the collection of courses
  * in which a student is enrolled
  */
-public class Schedule implements Cloneable{
-    private List<Course> courses;
+public class Schedule implements Cloneable, Serializable{
+    private static final long serialVersionUID = 1L;
+    //all fields are transient: a Schedule is written as its SerialForm, which rebuilds them when read
+
+    //insertion ordered; a set so that courses can be looked up and removed by hash
+    private transient Set<Course> courses;
+    //per day index of the courses by start minute; courses on one day never overlap, so start minutes are unique
+    private transient EnumMap<Weekday, NavigableMap<Integer, Course>> coursesByDay;
+    //courses by name, in insertion order; names are usually unique, so the lists hold one course
+    private transient HashMap<String, List<Course>> coursesByName;
+    //aggregates kept up to date by insert and delete
+    private transient ScheduleStats stats;
+
+    private transient CopyOnWriteArrayList<Registration> listeners;
+    // changes not yet reported to the listeners; only recorded while there are listeners
+    private transient int batchDepth;
+    private transient Set<Course> pendingAdded;
+    private transient Set<Course> pendingRemoved;
+    private transient boolean pendingReordered;
+
+    // a listener and how it wants to be called; a null executor means synchronously
+    private static class Registration {
+        final ScheduleListener listener;
+        final Executor executor;
+
+        Registration(ScheduleListener listener, Executor executor){
+            this.listener = listener;
+            this.executor = executor;
+        }
+    }
 
     /**
      * Constructor of Schedule
      * Initializes the courses field
      */
     public Schedule(){
-        courses = new LinkedList<>();
+        courses = new LinkedHashSet<>();
+        coursesByDay = new EnumMap<>(Weekday.class);
+        for(Weekday day : Weekday.values()){
+            coursesByDay.put(day, new TreeMap<>());
+        }
+        coursesByName = new HashMap<>();
+        stats = new ScheduleStats();
+        listeners = new CopyOnWriteArrayList<>();
+        pendingAdded = new LinkedHashSet<>();
+        pendingRemoved = new LinkedHashSet<>();
+    }
+
+    /**
+     * Registers a listener that is called synchronously, on the thread that changed this schedule,
+     * right after each change or at the end of each batch
+     * @param listener shouldn't be null otherwise, IllegalArgumentException is thrown
+     */
+    public void addScheduleListener(ScheduleListener listener){
+        if(listener == null) throw new IllegalArgumentException();
+        listeners.add(new Registration(listener, null));
+    }
+
+    /**
+     * Registers a listener that is called through the given executor, for example
+     * SwingUtilities::invokeLater or a thread pool. The events are immutable snapshots
+     * @param listener shouldn't be null otherwise, IllegalArgumentException is thrown
+     * @param executor shouldn't be null otherwise, IllegalArgumentException is thrown
+     */
+    public void addScheduleListener(ScheduleListener listener, Executor executor){
+        if(listener == null || executor == null) throw new IllegalArgumentException();
+        listeners.add(new Registration(listener, executor));
+    }
+
+    /**
+     * Unregisters a listener
+     * @param listener
+     * @return true if the listener was registered
+     */
+    public boolean removeScheduleListener(ScheduleListener listener){
+        return listeners.removeIf(r -> r.listener == listener);
+    }
+
+    /**
+     * Runs the given changes as one batch: listeners get a single event with the net changes
+     * when the batch ends, instead of one event per change. Batches can be nested;
+     * the event is sent when the outermost batch ends, even if it ends with an exception
+     * @param changes code that changes this schedule
+     */
+    public void batch(Runnable changes){
+        batchDepth++;
+        try {
+            changes.run();
+        } finally {
+            batchDepth--;
+            if(batchDepth == 0) flushEvents();
+        }
+    }
+
+    // Records a change for the listeners, cancelling it against an opposite change in the same batch
+    private void recordChange(Course course, boolean added){
+        if(listeners.isEmpty()) return;
+        if(added){
+            if(!pendingRemoved.remove(course)) pendingAdded.add(course);
+        } else {
+            if(!pendingAdded.remove(course)) pendingRemoved.add(course);
+        }
+        if(batchDepth == 0) flushEvents();
+    }
+
+    // Sends the pending changes, if any, to the listeners as one event
+    private void flushEvents(){
+        if(pendingAdded.isEmpty() && pendingRemoved.isEmpty() && !pendingReordered) return;
+        ScheduleEvent event = new ScheduleEvent(this, pendingAdded, pendingRemoved, pendingReordered);
+        pendingAdded.clear();
+        pendingRemoved.clear();
+        pendingReordered = false;
+        for(Registration r : listeners){
+            if(r.executor == null){
+                r.listener.scheduleChanged(event);
+            } else {
+                r.executor.execute(() -> r.listener.scheduleChanged(event));
+            }
+        }
     }
 
     @Override
@@ -28,14 +158,118 @@ public class Schedule implements Cloneable{
     /**
      * Add a new course to courses in this schedule, if there is no conflict with existing courses
      * When conflict, throws ScheduleConflictException
+     * Runs O(log n) since only the neighbors of courseToAdd in the per day index can conflict with it
      * @param courseToAdd a course that is to be added
      */
     public void add(Course courseToAdd) {
-        for(Course c : courses){
-            if(c.conflictsWith(courseToAdd))
-                throw new ScheduleConflictException(c, courseToAdd);
+        Course c = findConflict(courseToAdd);
+        if(c != null)
+            throw new ScheduleConflictException(c, courseToAdd);
+        insert(courseToAdd);
+    }
+
+    /**
+     * Enrolls in a course: adds it to this schedule and takes one of its seats, or does neither.
+     * The conflict check runs before the seat is taken, so a course that conflicts
+     * never holds a seat, even for a moment, that another student could have had
+     * @param courseToAdd a course that is to be added
+     * @param seats the seats of all sections. shouldn't be null
+     * @throws ScheduleConflictException if the course conflicts with this schedule; no seat is taken
+     * @throws SectionFullException if the course has no seats left; this schedule is unchanged
+     */
+    public void add(Course courseToAdd, SeatRegistry seats) {
+        Course c = findConflict(courseToAdd);
+        if(c != null)
+            throw new ScheduleConflictException(c, courseToAdd);
+        seats.reserve(courseToAdd);
+        insert(courseToAdd);
+    }
+
+    /**
+     * Drops a course: removes it from this schedule and gives back its seat, or does neither.
+     * The seat is given back before the course is removed, so listeners only hear of drops that succeeded
+     * @param course the course to remove
+     * @param seats the seats of all sections. shouldn't be null
+     * @return true if the course was in this schedule
+     * @throws IllegalStateException if the section has nobody enrolled, for example because the course
+     *         was added without taking a seat; this schedule is unchanged
+     */
+    public boolean remove(Course course, SeatRegistry seats){
+        if(!courses.contains(course)) return false;
+        seats.release(course);
+        delete(course);
+        return true;
+    }
+
+    // Returns a course in this schedule that conflicts with the given course, or null if there is none.
+    // Courses on one day don't overlap, so only the last course starting at or before the given course
+    // and the first course starting after it can overlap it
+    private Course findConflict(Course course){
+        return findConflict(coursesByDay, course, Collections.emptySet());
+    }
+
+    // Returns a course of the per day index, other than the ignored ones, that conflicts with the given course.
+    // Only the days of the course are looked at. Before the course, the last course starting at or before it
+    // is the only candidate: if it is ignored, every earlier course ends before it starts. After the course,
+    // every course starting while it is in session is a candidate, as ignored ones may hide others
+    private static Course findConflict(EnumMap<Weekday, NavigableMap<Integer, Course>> byDay,
+                                       Course course, Set<Course> ignored){
+        int start = course.getStartMinute();
+        int end = start + course.getDuration();
+        for(Weekday day : course.getDaysOffered()){
+            NavigableMap<Integer, Course> index = byDay.get(day);
+            Map.Entry<Integer, Course> before = index.floorEntry(start);
+            if(before != null && !ignored.contains(before.getValue()) && before.getValue().conflictsWith(course))
+                return before.getValue();
+            for(Course after : index.subMap(start, false, end, false).values()){
+                if(!ignored.contains(after) && after.conflictsWith(course)) return after;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds a course without checking for conflicts, for loaders that have already
+     * checked all of their courses against each other
+     * @param course a course that doesn't conflict with any course in this schedule
+     * @throws ScheduleConflictException if the course starts at the same time as another course
+     *         on one of its days; this schedule is unchanged
+     */
+    void addWithoutChecking(Course course){
+        insert(course);
+    }
+
+    // Adds the course to the list and to the per day index without checking for conflicts.
+    // A course starting at the same minute as another on one of its days would replace it in the index,
+    // so that is refused before anything changes
+    private void insert(Course course){
+        for(Weekday day : course.getDaysOffered()){
+            Course same = coursesByDay.get(day).get(course.getStartMinute());
+            if(same != null) throw new ScheduleConflictException(same, course);
+        }
+        courses.add(course);
+        for(Weekday day : course.getDaysOffered()){
+            coursesByDay.get(day).put(course.getStartMinute(), course);
+        }
+        coursesByName.computeIfAbsent(course.getName(), name -> new ArrayList<>(1)).add(course);
+        stats.courseAdded(course);
+        recordChange(course, true);
+    }
+
+    // Removes the course from the list and from the per day index
+    private boolean delete(Course course){
+        if(!courses.remove(course)) return false;
+        for(Weekday day : course.getDaysOffered()){
+            NavigableMap<Integer, Course> index = coursesByDay.get(day);
+            index.remove(course.getStartMinute(), course);
+            stats.courseRemoved(course, day, index);
         }
-        courses.add(courseToAdd);
+        stats.courseRemoved(course);
+        List<Course> named = coursesByName.get(course.getName());
+        named.remove(course);
+        if(named.isEmpty()) coursesByName.remove(course.getName());
+        recordChange(course, false);
+        return true;
     }
 
     /**
@@ -55,7 +289,22 @@ public class Schedule implements Cloneable{
         try {
             //Need to do deep copying
             Schedule copy = (Schedule) super.clone();
-            copy.courses = new LinkedList<>(courses);
+            copy.courses = new LinkedHashSet<>(courses);
+            copy.coursesByDay = new EnumMap<>(Weekday.class);
+            for(Weekday day : Weekday.values()){
+                copy.coursesByDay.put(day, new TreeMap<>(coursesByDay.get(day)));
+            }
+            copy.stats = new ScheduleStats(stats);
+            copy.coursesByName = new HashMap<>();
+            for(Map.Entry<String, List<Course>> e : coursesByName.entrySet()){
+                copy.coursesByName.put(e.getKey(), new ArrayList<>(e.getValue()));
+            }
+            //the copy starts without listeners or pending changes
+            copy.listeners = new CopyOnWriteArrayList<>();
+            copy.batchDepth = 0;
+            copy.pendingAdded = new LinkedHashSet<>();
+            copy.pendingRemoved = new LinkedHashSet<>();
+            copy.pendingReordered = false;
             return copy;
         } catch (CloneNotSupportedException e) {
             return null;
@@ -64,41 +313,196 @@ public class Schedule implements Cloneable{
 
     /**
      * Gets the course happening in given day and time
+     * Runs O(log n): the only candidate is the last course on that day starting at or before time
      * @param day
      * @param time
      * @return the course that is in session
      */
     public Course getCourse(Weekday day, Time time){
-        for(Course c: courses){
-            if(c.contains(day, time)) return c;
+        return getCourse(day, time.toMinute());
+    }
+
+    /**
+     * Gets the course happening in given day and minute of the day, without needing a Time
+     * @param day
+     * @param minute minutes since midnight
+     * @return the course that is in session, or null
+     */
+    Course getCourse(Weekday day, int minute){
+        Map.Entry<Integer, Course> e = coursesByDay.get(day).floorEntry(minute);
+        if(e == null) return null;
+        Course c = e.getValue();
+        return c.getStartMinute() <= minute && c.getEndMinute() > minute ? c : null;
+    }
+
+    /**
+     * Gets the course with the given name. Runs O(1)
+     * @param name course name, in any case. shouldn't be null otherwise, IllegalArgumentException is thrown
+     * @return the course, or null if there is none. If several courses have the name,
+     *         the one added first
+     */
+    public Course get(String name){
+        if(name == null) throw new IllegalArgumentException();
+        List<Course> named = coursesByName.get(name.toUpperCase());
+        return named == null ? null : named.get(0);
+    }
+
+    /**
+     * Returns true if a course with the given name is in this schedule. Runs O(1)
+     * @param name course name, in any case. shouldn't be null otherwise, IllegalArgumentException is thrown
+     * @return true if there is such a course
+     */
+    public boolean contains(String name){
+        if(name == null) throw new IllegalArgumentException();
+        return coursesByName.containsKey(name.toUpperCase());
+    }
+
+    /**
+     * Removes the courses with the given name. Runs O(1) per removed course
+     * @param name course name, in any case. shouldn't be null otherwise, IllegalArgumentException is thrown
+     * @return true if a course was removed
+     */
+    public boolean remove(String name){
+        if(name == null) throw new IllegalArgumentException();
+        List<Course> named = coursesByName.get(name.toUpperCase());
+        if(named == null) return false;
+        batch(() -> {
+            for(Course c : new ArrayList<>(named)){
+                delete(c);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Returns the courses offered on the given day, ordered by start time
+     * The collection is a read-only view that reflects later changes to this schedule
+     * @param day
+     * @return courses on day
+     */
+    public Collection<Course> coursesOn(Weekday day){
+        return Collections.unmodifiableCollection(coursesByDay.get(day).values());
+    }
+
+    /**
+     * Returns the first course on the given day that starts at or after the given time
+     * Runs O(log n)
+     * @param day
+     * @param time
+     * @return the next course, or null if there is none
+     */
+    public Course nextCourseAfter(Weekday day, Time time){
+        Map.Entry<Integer, Course> e = coursesByDay.get(day).ceilingEntry(time.toMinute());
+        return e == null ? null : e.getValue();
+    }
+
+    /**
+     * Returns the last course on the given day that starts before the given time
+     * (including a course that is still in session at that time)
+     * Runs O(log n)
+     * @param day
+     * @param time
+     * @return the previous course, or null if there is none
+     */
+    public Course previousCourseBefore(Weekday day, Time time){
+        Map.Entry<Integer, Course> e = coursesByDay.get(day).lowerEntry(time.toMinute());
+        return e == null ? null : e.getValue();
+    }
+
+    /**
+     * Returns the courses in session at any time during [from, to) on the given day
+     * Runs O(log n + k) for k results: courses on one day don't overlap, so apart from
+     * the courses starting in the window only the last course starting before it can be in session
+     * @param day
+     * @param from start of the window (inclusive)
+     * @param to end of the window (non-inclusive)
+     * @return lazy stream of courses, ordered by start time
+     */
+    public Stream<Course> coursesDuring(Weekday day, Time from, Time to){
+        return coursesDuring(day, from.toMinute(), to.toMinute());
+    }
+
+    /**
+     * Returns the courses in session at any time during [fromMinute, toMinute) on the given day,
+     * without needing a Time, so the window may end at midnight (minute 1440)
+     * @param day
+     * @param fromMinute start of the window in minutes since midnight (inclusive)
+     * @param toMinute end of the window in minutes since midnight (non-inclusive)
+     * @return lazy stream of courses, ordered by start time
+     */
+    Stream<Course> coursesDuring(Weekday day, int fromMinute, int toMinute){
+        if(fromMinute >= toMinute) return Stream.empty();
+
+        NavigableMap<Integer, Course> index = coursesByDay.get(day);
+        int firstKey = fromMinute;
+        Map.Entry<Integer, Course> before = index.lowerEntry(fromMinute);
+        if(before != null && before.getKey() + before.getValue().getDuration() > fromMinute){
+            firstKey = before.getKey();
         }
-        return null;
+        return index.subMap(firstKey, true, toMinute, false).values().stream();
+    }
+
+    /**
+     * Returns the courses in session at any time during [from, to) on any of the given days.
+     * Each course is returned once, even if it is offered on several of the days
+     * @param days
+     * @param from start of the window (inclusive)
+     * @param to end of the window (non-inclusive)
+     * @return lazy stream of courses, ordered by day and then by start time
+     */
+    public Stream<Course> coursesDuring(Set<Weekday> days, Time from, Time to){
+        int mask = DaySet.copyOf(days).mask();
+        return DaySet.fromMask(mask).stream()
+                .flatMap(day -> coursesDuring(day, from, to)
+                        //report a course only for the first of the days it shares with the query
+                        .filter(c -> Integer.numberOfTrailingZeros(c.getDayMask() & mask) == day.ordinal()));
     }
 
     /**
      * Removes all courses if it conflicts with given day and time
+     * Runs O(log n): the course is found through the per day index and removed by hashing
      * @param day
      * @param time
      */
     public void remove(Weekday day, Time time){
-        for(Course c: courses){
-            if(c.contains(day, time)){
-                courses.remove(c);
-                return;
-            }
-        }
+        Course c = getCourse(day, time);
+        if(c != null) delete(c);
+    }
+
+    /**
+     * Removes the given course from this schedule
+     * @param course the course to remove
+     * @return true if the course was in this schedule
+     */
+    public boolean remove(Course course){
+        return delete(course);
+    }
+
+    /**
+     * Returns the number of courses in this schedule
+     * @return the number of courses
+     */
+    public int size(){
+        return courses.size();
     }
 
     /**
      * Calculates the total credit of all courses in this schedule
+     * Runs O(1) since the total is kept up to date by add and remove
      * @return the total credits
      */
     public int totalCredits(){
-        int totalCredits = 0;
-        for(Course c: courses){
-            totalCredits += c.getCredits();
-        }
-        return totalCredits;
+        return stats.getTotalCredits();
+    }
+
+    /**
+     * Returns the aggregate numbers of this schedule: credits, minutes in class,
+     * first and last course and gaps per day. Runs O(1); the object is a read-only
+     * view that reflects later changes to this schedule
+     * @return the statistics of this schedule
+     */
+    public ScheduleStats getStats(){
+        return stats;
     }
 
     /**
@@ -107,9 +511,150 @@ public class Schedule implements Cloneable{
      * @param comparator
      */
     public void save(PrintStream out, Comparator<Course> comparator){
-        Collections.sort(courses, comparator);
-        for(Course c: courses){
+        List<Course> sorted = new ArrayList<>(courses);
+        sorted.sort(comparator);
+        //keep the schedule in the saved order
+        courses.clear();
+        courses.addAll(sorted);
+        if(!listeners.isEmpty()){
+            pendingReordered = true;
+            if(batchDepth == 0) flushEvents();
+        }
+        for(Course c: sorted){
             out.println(c);
         }
     }
+
+    /**
+     * Computes the changes that turn this schedule into the other schedule.
+     * Courses are matched by hashing, so this runs in O(n + m)
+     * @param other the target schedule. shouldn't be null
+     * @return the courses to remove from and to add to this schedule
+     */
+    public ScheduleChangeset diff(Schedule other){
+        List<Course> added = new ArrayList<>();
+        for(Course c: other.courses){
+            if(!courses.contains(c)) added.add(c);
+        }
+        List<Course> removed = new ArrayList<>();
+        for(Course c: courses){
+            if(!other.courses.contains(c)) removed.add(c);
+        }
+        return new ScheduleChangeset(added, removed);
+    }
+
+    /**
+     * Starts a transaction that stages adds and removes and applies them all at once on commit
+     * @return a new transaction on this schedule
+     */
+    public ScheduleTransaction beginTransaction(){
+        return new ScheduleTransaction(this);
+    }
+
+    /**
+     * Applies a changeset to this schedule: first removes its removed courses, then adds its added courses.
+     * The added courses are validated before anything changes, against the final state of this schedule
+     * and against each other, through the per day index of only the days they are offered on,
+     * so this runs O(k log n) for k changes. Either all changes are applied or none:
+     * when conflict, throws ScheduleConflictException and leaves this schedule unchanged.
+     * Listeners get one event for the whole changeset
+     * @param changes the changes to apply. shouldn't be null
+     * @throws IllegalArgumentException if a removed course is not in this schedule
+     */
+    public void apply(ScheduleChangeset changes){
+        batch(() -> applyChanges(changes));
+    }
+
+    private void applyChanges(ScheduleChangeset changes){
+        Set<Course> removed = new HashSet<>(changes.getRemoved());
+        for(Course c: removed){
+            if(!courses.contains(c))
+                throw new IllegalArgumentException(c + " is not in this schedule");
+        }
+
+        //the added courses so far, indexed like this schedule, to check the added courses against each other
+        EnumMap<Weekday, NavigableMap<Integer, Course>> staged = new EnumMap<>(Weekday.class);
+        for(Weekday day : Weekday.values()){
+            staged.put(day, new TreeMap<>());
+        }
+        for(Course c: changes.getAdded()){
+            Course conflict = findConflict(coursesByDay, c, removed);
+            if(conflict == null) conflict = findConflict(staged, c, Collections.emptySet());
+            if(conflict != null)
+                throw new ScheduleConflictException(conflict, c);
+            for(Weekday day : c.getDaysOffered()){
+                staged.get(day).put(c.getStartMinute(), c);
+            }
+        }
+
+        for(Course c: removed){
+            delete(c);
+        }
+        for(Course c: changes.getAdded()){
+            insert(c);
+        }
+    }
+
+    // Serialization: a Schedule is written as its SerialForm, which holds only the courses.
+    // Listeners, pending events and indexes are not written; reading rebuilds the indexes
+
+    private Object writeReplace(){
+        return new SerialForm(this);
+    }
+
+    private void readObject(ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Schedule is read through its SerialForm");
+    }
+
+    /**
+     * The serialized form of a Schedule: a version byte, the number of courses and the courses in order,
+     * written inline through the stream's CourseStreamTable, so a course shared by several schedules
+     * of one stream is stored once
+     */
+    private static final class SerialForm implements Externalizable {
+        private static final long serialVersionUID = 1L;
+        private static final int VERSION = 2;
+
+        private Schedule schedule;
+
+        public SerialForm(){
+        }
+
+        SerialForm(Schedule schedule){
+            this.schedule = schedule;
+        }
+
+        @Override
+        public void writeExternal(ObjectOutput out) throws IOException {
+            out.writeByte(VERSION);
+            CourseStreamTable.writeVarint(out, schedule.courses.size());
+            CourseStreamTable table = CourseStreamTable.of(out);
+            for(Course c : schedule.courses){
+                table.write(out, c);
+            }
+        }
+
+        @Override
+        public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+            int version = in.readUnsignedByte();
+            if(version != VERSION) throw new InvalidObjectException("unsupported Schedule format version " + version);
+            int count = CourseStreamTable.readVarint(in);
+            CourseStreamTable table = CourseStreamTable.of(in);
+            schedule = new Schedule();
+            for(int i = 0; i < count; i++){
+                Course c = table.read(in);
+                try {
+                    schedule.add(c);
+                } catch (ScheduleConflictException e){
+                    InvalidObjectException error = new InvalidObjectException(e.getMessage());
+                    error.initCause(e);
+                    throw error;
+                }
+            }
+        }
+
+        private Object readResolve(){
+            return schedule;
+        }
+    }
 }
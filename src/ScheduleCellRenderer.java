@@ -0,0 +1,134 @@
+import javax.swing.BorderFactory;
+import javax.swing.JComponent;
+import javax.swing.JTable;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.TableCellRenderer;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class draws the cells of a ScheduleTableModel table so that every course
+ * appears as one colored block spanning all of its rows, with its name centered once
+ * in the block instead of repeated in every row.
+ * Each cell paints the whole block shifted to the cell's position and lets the cell's
+ * clip keep only its own slice, so a repaint of a few cells still draws correctly.
+ * Colors are cached per course name and name widths are measured once per font.
+ * Empty cells and the time column are drawn by a default renderer.
+ */
+public class ScheduleCellRenderer extends JComponent implements TableCellRenderer {
+	// this field is required to get rid of a Serializable warning (lame)
+	private static final long serialVersionUID = 1L;
+
+	// hues of successive names are spread by the golden ratio so that neighbors differ
+	private static final float GOLDEN_RATIO = 0.618034f;
+	private static final float SATURATION = 0.35f;
+	private static final float BRIGHTNESS = 0.95f;
+
+	private final DefaultTableCellRenderer fallback = new DefaultTableCellRenderer();
+	// caches, never serialized
+	private final transient Map<String, Color> colors = new HashMap<>();
+	private final transient Map<String, Integer> nameWidths = new HashMap<>();
+	private Font measuredFont;
+
+	// the cell being painted
+	private Course course;
+	private int rowOffset;   // rows of the block above this cell
+	private int rowSpan;     // rows of the block
+	private boolean selected;
+
+	@Override
+	public Component getTableCellRendererComponent(JTable table, Object value,
+			boolean isSelected, boolean hasFocus, int row, int column) {
+		ScheduleTableModel model = (ScheduleTableModel) table.getModel();
+		Course c = model.getCourseAt(row, table.convertColumnIndexToModel(column));
+		if (c == null) {
+			Component cell = fallback.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
+			fallback.setBorder(BorderFactory.createMatteBorder(0, 0, 1, 0, table.getGridColor()));
+			return cell;
+		}
+
+		int firstRow = model.firstRowOf(c);
+		course = c;
+		rowOffset = row - firstRow;
+		rowSpan = model.lastRowOf(c) - firstRow + 1;
+		selected = isSelected;
+		setFont(table.getFont());
+		setForeground(table.getForeground());
+		return this;
+	}
+
+	@Override
+	protected void paintComponent(Graphics g) {
+		int width = getWidth();
+		int height = getHeight();
+		int blockTop = -rowOffset * height;
+		int blockHeight = rowSpan * height;
+
+		Color color = colorOf(course.getName());
+		g.setColor(selected ? color.darker() : color);
+		g.fillRect(0, 0, width, height);
+		g.setColor(color.darker().darker());
+		g.drawRect(0, blockTop, width - 1, blockHeight - 1);
+
+		g.setColor(getForeground());
+		g.setFont(getFont());
+		FontMetrics metrics = g.getFontMetrics();
+		int x = (width - widthOf(course.getName(), metrics)) / 2;
+		int y = blockTop + (blockHeight - metrics.getHeight()) / 2 + metrics.getAscent();
+		g.drawString(course.getName(), x, y);
+	}
+
+	// Returns the cached color of the given course name
+	private Color colorOf(String name) {
+		Color color = colors.get(name);
+		if (color == null) {
+			float hue = (colors.size() * GOLDEN_RATIO) % 1f;
+			color = Color.getHSBColor(hue, SATURATION, BRIGHTNESS);
+			colors.put(name, color);
+		}
+		return color;
+	}
+
+	// Returns the cached width of the given course name in the current font
+	private int widthOf(String name, FontMetrics metrics) {
+		if (!metrics.getFont().equals(measuredFont)) {
+			measuredFont = metrics.getFont();
+			nameWidths.clear();
+		}
+		Integer width = nameWidths.get(name);
+		if (width == null) {
+			width = metrics.stringWidth(name);
+			nameWidths.put(name, width);
+		}
+		return width;
+	}
+
+	// The methods below are overridden for performance, as in DefaultTableCellRenderer:
+	// a renderer is only stamped onto the table, so it never needs to revalidate or repaint itself
+
+	@Override
+	public void invalidate() {
+	}
+
+	@Override
+	public void validate() {
+	}
+
+	@Override
+	public void revalidate() {
+	}
+
+	@Override
+	public void repaint(long tm, int x, int y, int width, int height) {
+	}
+
+	@Override
+	public boolean isOpaque() {
+		return true;
+	}
+}
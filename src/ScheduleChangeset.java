@@ -0,0 +1,91 @@
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A ScheduleChangeset object is an immutable set of edits to a schedule:
+ * the courses to remove and the courses to add.
+ * It is produced by Schedule.diff and consumed by Schedule.apply.
+ *
+ * Its text format has one change per line, a '-' or '+' directly followed by
+ * the course in the same format ScheduleIO reads, for example
+ * <pre>
+ * -EGR 222,3,MWF,05:00 PM,60
+ * +EGR 222,3,TR,05:00 PM,90
+ * </pre>
+ */
+public class ScheduleChangeset {
+    static final char REMOVED_PREFIX = '-';
+    static final char ADDED_PREFIX = '+';
+
+    private final List<Course> added;
+    private final List<Course> removed;
+
+    /**
+     * Constructor for ScheduleChangeset
+     * @param added courses to add. shouldn't be null otherwise, IllegalArgumentException is thrown
+     * @param removed courses to remove. shouldn't be null otherwise, IllegalArgumentException is thrown
+     */
+    public ScheduleChangeset(List<Course> added, List<Course> removed) {
+        if (added == null || removed == null || added.contains(null) || removed.contains(null))
+            throw new IllegalArgumentException();
+        this.added = Collections.unmodifiableList(new ArrayList<>(added));
+        this.removed = Collections.unmodifiableList(new ArrayList<>(removed));
+    }
+
+    /**
+     * Returns the courses this changeset adds
+     * @return read-only list of added courses
+     */
+    public List<Course> getAdded() {
+        return added;
+    }
+
+    /**
+     * Returns the courses this changeset removes
+     * @return read-only list of removed courses
+     */
+    public List<Course> getRemoved() {
+        return removed;
+    }
+
+    /**
+     * Returns the number of changes in this changeset
+     * @return the number of added and removed courses
+     */
+    public int size() {
+        return added.size() + removed.size();
+    }
+
+    /**
+     * Returns true if this changeset doesn't change anything
+     * @return true if there are no added and no removed courses
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Saves this changeset to an output stream in the text format described above.
+     * Removals are written before additions, the order in which they are applied
+     * @param out
+     */
+    public void save(PrintStream out) {
+        for (Course c : removed) {
+            out.println(REMOVED_PREFIX + c.toString());
+        }
+        for (Course c : added) {
+            out.println(ADDED_PREFIX + c.toString());
+        }
+    }
+
+    /**
+     * Overrides toString from the Object superclass
+     * @return a short summary of this changeset, for example "+2 -1"
+     */
+    @Override
+    public String toString() {
+        return ADDED_PREFIX + "" + added.size() + " " + REMOVED_PREFIX + removed.size();
+    }
+}
@@ -13,4 +13,17 @@ public class ScheduleConflictException extends RuntimeException {
     public ScheduleConflictException(Course c1, Course c2){
         super(c1.toString()+ " and " + c2.toString() + " have day and time conflict");
     }
+
+    /**
+     * Constructor that takes two Course objects and the file lines they were read from.
+     * Assumes both courses are not null
+     * @param c1 course 1
+     * @param line1 line number of course 1
+     * @param c2 course 2
+     * @param line2 line number of course 2
+     */
+    public ScheduleConflictException(Course c1, int line1, Course c2, int line2){
+        super("line " + line1 + ": " + c1.toString() + " and line " + line2 + ": " + c2.toString()
+                + " have day and time conflict");
+    }
 }
@@ -0,0 +1,67 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A ScheduleEvent object describes the net changes made to a schedule in one step or one batch.
+ * A course added and removed again within the batch appears in neither list.
+ * Immutable.
+ */
+public class ScheduleEvent {
+    private final Schedule source;
+    private final List<Course> added;
+    private final List<Course> removed;
+    private final boolean reordered;
+
+    /**
+     * Constructor of ScheduleEvent
+     * @param source the schedule that changed
+     * @param added the courses that were added
+     * @param removed the courses that were removed
+     * @param reordered true if the order of the courses changed, as Schedule.save does
+     */
+    public ScheduleEvent(Schedule source, Collection<Course> added, Collection<Course> removed, boolean reordered) {
+        this.source = source;
+        this.added = Collections.unmodifiableList(new ArrayList<>(added));
+        this.removed = Collections.unmodifiableList(new ArrayList<>(removed));
+        this.reordered = reordered;
+    }
+
+    /**
+     * Returns the schedule that changed
+     * @return the source schedule
+     */
+    public Schedule getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the courses that were added, in the order they were added
+     * @return read-only list of added courses
+     */
+    public List<Course> getAdded() {
+        return added;
+    }
+
+    /**
+     * Returns the courses that were removed, in the order they were removed
+     * @return read-only list of removed courses
+     */
+    public List<Course> getRemoved() {
+        return removed;
+    }
+
+    /**
+     * Returns true if the order of the courses in the schedule changed
+     * @return true if reordered
+     */
+    public boolean isReordered() {
+        return reordered;
+    }
+
+    @Override
+    public String toString() {
+        return "added " + added + ", removed " + removed + (reordered ? ", reordered" : "");
+    }
+}
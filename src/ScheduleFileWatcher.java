@@ -0,0 +1,190 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.InputMismatchException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A ScheduleFileWatcher object keeps a live Schedule in step with the schedule file it was loaded from
+ * when another program rewrites the file.
+ * It remembers the course of every line of the file, keyed by the line's text. On a change only
+ * the lines it hasn't seen before are parsed, and lines that are gone give the removed courses,
+ * so a reload parses and applies work proportional to the edit rather than to the file.
+ * The changes are applied as one transaction, so listeners such as ScheduleTableModel get one
+ * event naming only the added and removed courses.
+ * The watch runs on its own daemon thread; changes are applied on the executor given to start.
+ * Without start, readChanges and apply can be called directly instead, from one thread.
+ */
+public class ScheduleFileWatcher implements Closeable {
+    // wait this long after a change for the rest of the same write before reading the file
+    private static final long SETTLE_MILLIS = 50;
+
+    private final Path file;
+    private final Schedule schedule;
+    // the course on each non-blank line of the file as last read; only touched by the reading thread
+    private Map<String, Course> lines;
+    private WatchService watcher;
+
+    /**
+     * Constructor of ScheduleFileWatcher. The schedule should hold the file's courses;
+     * lines written by Schedule.save are matched to them without being parsed again
+     * @param file the schedule file
+     * @param schedule the schedule loaded from the file
+     * @throws InputMismatchException if a line of the file is malformed, naming its line number
+     */
+    public ScheduleFileWatcher(Path file, Schedule schedule) throws IOException {
+        if (file == null || schedule == null) throw new IllegalArgumentException();
+        this.file = file;
+        this.schedule = schedule;
+        Map<String, Course> known = new HashMap<>();
+        for (Course c : schedule.getAllCourses()) {
+            known.put(c.toString(), c);
+        }
+        readLines(known, new ArrayList<>());
+    }
+
+    /**
+     * Reads the file again and returns how its courses changed since the last read.
+     * Only new lines are parsed. A course whose line was only reformatted is not a change
+     * @return the courses added to and removed from the file
+     * @throws InputMismatchException if a new line is malformed, naming its line number;
+     *         the file is then compared with the same earlier contents on the next read
+     */
+    public ScheduleChangeset readChanges() throws IOException {
+        Map<String, Course> previous = lines;
+        List<Course> parsed = new ArrayList<>();
+        readLines(previous, parsed);
+
+        Set<Course> removed = new LinkedHashSet<>();
+        for (Map.Entry<String, Course> e : previous.entrySet()) {
+            if (!lines.containsKey(e.getKey())) removed.add(e.getValue());
+        }
+        List<Course> added = new ArrayList<>();
+        for (Course c : parsed) {
+            if (!removed.remove(c)) added.add(c);
+        }
+        return new ScheduleChangeset(added, new ArrayList<>(removed));
+    }
+
+    /**
+     * Applies changes read from the file to the schedule as one transaction.
+     * Added courses the schedule already has and removed courses it no longer has are skipped,
+     * so changes the user already made by hand are not applied twice.
+     * Call this on the thread that changes the schedule
+     * @param changes the changes returned by readChanges
+     * @throws ScheduleConflictException if an added course conflicts; nothing is changed
+     */
+    public void apply(ScheduleChangeset changes) {
+        if (changes.isEmpty()) return;
+        ScheduleTransaction transaction = schedule.beginTransaction();
+        for (Course c : changes.getRemoved()) {
+            if (isScheduled(c)) transaction.remove(c);
+        }
+        for (Course c : changes.getAdded()) {
+            if (!isScheduled(c)) transaction.add(c);
+        }
+        transaction.commit();
+    }
+
+    /**
+     * Starts watching the file. Each time it changes, the changes are read on the watch thread
+     * and applied with apply on the given executor. A failed read or apply is rethrown from
+     * the task passed to the executor, so the executor decides how to report it
+     * @param executor runs the schedule updates, for example SwingUtilities::invokeLater.
+     *                 shouldn't be null otherwise, IllegalArgumentException is thrown
+     * @throws IllegalStateException if the watcher was already started
+     */
+    public synchronized void start(Executor executor) throws IOException {
+        if (executor == null) throw new IllegalArgumentException();
+        if (watcher != null) throw new IllegalStateException("already started");
+        Path directory = file.toAbsolutePath().getParent();
+        watcher = FileSystems.getDefault().newWatchService();
+        directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        WatchService service = watcher;
+        Thread thread = new Thread(() -> watch(service, executor), "ScheduleFileWatcher " + file.getFileName());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops watching the file
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (watcher != null) watcher.close();
+    }
+
+    private void watch(WatchService service, Executor executor) {
+        Path name = file.getFileName();
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = false;
+                //one write often comes as several events; take them all before reading the file once
+                do {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        changed |= name.equals(event.context()) || event.kind() == StandardWatchEventKinds.OVERFLOW;
+                    }
+                    key.reset();
+                } while ((key = service.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null);
+                if (!changed) continue;
+
+                ScheduleChangeset changes;
+                try {
+                    changes = readChanges();
+                } catch (IOException | RuntimeException e) {
+                    executor.execute(() -> {
+                        throw new IllegalStateException("could not reload " + file, e);
+                    });
+                    continue;
+                }
+                if (!changes.isEmpty()) executor.execute(() -> apply(changes));
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            //closed
+        }
+    }
+
+    // Reads the file into a new line map, reusing the courses of known lines and collecting the courses
+    // of the others into parsed. The line map is only replaced once the whole file has been read
+    private void readLines(Map<String, Course> known, List<Course> parsed) throws IOException {
+        List<String> text = Files.readAllLines(file);
+        Map<String, Course> current = new HashMap<>(text.size() * 4 / 3 + 1);
+        for (int i = 0; i < text.size(); i++) {
+            String line = text.get(i);
+            if (line.isEmpty() || current.containsKey(line)) continue;
+            Course c = known.get(line);
+            if (c == null) {
+                try {
+                    c = ScheduleIO.parseCourse(line);
+                } catch (RuntimeException e) {
+                    InputMismatchException error = new InputMismatchException(file + ", line " + (i + 1) + ": " + e.getMessage());
+                    error.initCause(e);
+                    throw error;
+                }
+                parsed.add(c);
+            }
+            current.put(line, c);
+        }
+        lines = current;
+    }
+
+    private boolean isScheduled(Course course) {
+        return course.equals(schedule.getCourse(course.getDaysOffered().iterator().next(), course.getStartMinute()));
+    }
+}
@@ -0,0 +1,144 @@
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * A ScheduleHistory object records the edits made to a schedule so they can be undone and redone.
+ * Each step stores only the edited course and the kind of edit (its inverse is derived from it),
+ * never a copy of the schedule, so every step costs O(1) memory.
+ * The history is bounded: once it holds capacity steps, the oldest step is forgotten.
+ */
+public class ScheduleHistory {
+    /** the number of steps kept when no capacity is given */
+    public static final int DEFAULT_CAPACITY = 1000;
+
+    private final Schedule schedule;
+    private final int capacity;
+    private final Deque<Edit> undoSteps = new ArrayDeque<>();
+    private final Deque<Edit> redoSteps = new ArrayDeque<>();
+
+    /**
+     * Constructor for ScheduleHistory with DEFAULT_CAPACITY steps
+     * @param schedule the schedule whose edits are recorded. shouldn't be null
+     *                 otherwise, IllegalArgumentException is thrown
+     */
+    public ScheduleHistory(Schedule schedule) {
+        this(schedule, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor for ScheduleHistory
+     * @param schedule the schedule whose edits are recorded. shouldn't be null
+     *                 otherwise, IllegalArgumentException is thrown
+     * @param capacity the maximum number of undo steps. should be positive
+     *                 otherwise, IllegalArgumentException is thrown
+     */
+    public ScheduleHistory(Schedule schedule, int capacity) {
+        if (schedule == null || capacity <= 0) throw new IllegalArgumentException();
+        this.schedule = schedule;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Adds the course to the schedule and records the edit.
+     * When conflict, throws ScheduleConflictException and records nothing
+     * @param course the course to add
+     */
+    public void add(Course course) {
+        schedule.add(course);
+        record(new Edit(true, course));
+    }
+
+    /**
+     * Removes the course in session during the given day and time (if any) and records the edit
+     * @param day
+     * @param time
+     * @return the removed course, or null if there was no course to remove
+     */
+    public Course remove(Weekday day, Time time) {
+        Course course = schedule.getCourse(day, time);
+        if (course == null) return null;
+        schedule.remove(course);
+        record(new Edit(false, course));
+        return course;
+    }
+
+    /**
+     * Returns true if there is an edit to undo
+     * @return true if undo() would change the schedule
+     */
+    public boolean canUndo() {
+        return !undoSteps.isEmpty();
+    }
+
+    /**
+     * Returns true if there is an undone edit to redo
+     * @return true if redo() would change the schedule
+     */
+    public boolean canRedo() {
+        return !redoSteps.isEmpty();
+    }
+
+    /**
+     * Reverts the latest edit
+     * @return the course that was added or removed again, or null if there is nothing to undo
+     */
+    public Course undo() {
+        Edit edit = undoSteps.peekLast();
+        if (edit == null) return null;
+        edit.revert(schedule);
+        undoSteps.removeLast();
+        redoSteps.addLast(edit);
+        return edit.course;
+    }
+
+    /**
+     * Repeats the latest undone edit
+     * @return the course that was added or removed again, or null if there is nothing to redo
+     */
+    public Course redo() {
+        Edit edit = redoSteps.peekLast();
+        if (edit == null) return null;
+        edit.perform(schedule);
+        redoSteps.removeLast();
+        undoSteps.addLast(edit);
+        return edit.course;
+    }
+
+    /**
+     * Forgets all recorded edits
+     */
+    public void clear() {
+        undoSteps.clear();
+        redoSteps.clear();
+    }
+
+    // A new edit invalidates the undone edits and pushes out the oldest one when full
+    private void record(Edit edit) {
+        redoSteps.clear();
+        if (undoSteps.size() == capacity) undoSteps.removeFirst();
+        undoSteps.addLast(edit);
+    }
+
+    /**
+     * An Edit object is one recorded step: a course that was either added or removed
+     */
+    private static class Edit {
+        private final boolean added;
+        private final Course course;
+
+        Edit(boolean added, Course course) {
+            this.added = added;
+            this.course = course;
+        }
+
+        void perform(Schedule schedule) {
+            if (added) schedule.add(course);
+            else schedule.remove(course);
+        }
+
+        void revert(Schedule schedule) {
+            if (added) schedule.remove(course);
+            else schedule.add(course);
+        }
+    }
+}
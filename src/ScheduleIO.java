@@ -1,11 +1,15 @@
 // EGR 222, Homework 6 (Scheduler)
 // Instructor-provided code; do not modify.
 
+import java.io.IOException;
 import java.io.InputStream;
-import java.util.EnumSet;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.InputMismatchException;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Scanner;
-import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * This class contains static methods to handle the saving and loading of schedules
@@ -23,29 +27,114 @@ public class ScheduleIO {
 		Schedule schedule = new Schedule();
 
 		while (input.hasNextLine()) {
-			String line = input.nextLine();
+			Course course = parseCourse(input.nextLine());
+			if (course != null) {
+				schedule.add(course);
+			}
+		}
+		return schedule;
+	}
+
+	/**
+	 * Loads a large schedule file using all cores of the common fork/join pool.
+	 * See loadParallel(Path, ForkJoinPool).
+	 * @param file the schedule file
+	 */
+	public static Schedule loadParallel(Path file) throws IOException, ScheduleConflictException {
+		return loadParallel(file, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Loads a large schedule file in parallel. The file is split into chunks at line
+	 * boundaries, the chunks are parsed on the given pool and merged in file order, and
+	 * conflicts are checked in one pass at the end. The result is the same schedule
+	 * load(InputStream) would return; errors name the line number within the file.
+	 * @param file the schedule file
+	 * @param pool the pool to parse on
+	 * @throws InputMismatchException if a line is malformed, naming its line number
+	 * @throws ScheduleConflictException if two courses conflict, naming both line numbers
+	 */
+	public static Schedule loadParallel(Path file, ForkJoinPool pool) throws IOException, ScheduleConflictException {
+		return new ParallelScheduleLoader(file, pool, ParallelScheduleLoader.MIN_CHUNK_BYTES).load();
+	}
+
+	/**
+	 * Reads a changeset saved by ScheduleChangeset.save from the given input stream.
+	 * @param in stream with one '+' or '-' prefixed course per line
+	 */
+	public static ScheduleChangeset loadChangeset(InputStream in) {
+		Scanner input = new Scanner(in);
+		List<Course> added = new ArrayList<>();
+		List<Course> removed = new ArrayList<>();
 
-			Scanner tokens = new Scanner(line);
-			tokens.useDelimiter(",");
-			if (!tokens.hasNext()) {
+		while (input.hasNextLine()) {
+			String line = input.nextLine();
+			if (line.trim().isEmpty()) {
 				continue;
 			}
-			
-			String name = tokens.next();
-			int credits = tokens.nextInt();
-			
-			String daysStr = tokens.next();
-			Set<Weekday> days = weekdaysFromShortNames(daysStr);
-			
-			String timeStr = tokens.next();
-			Time startTime = Time.fromString(timeStr);
-			
-			int duration = tokens.nextInt();
-			
-			Course course = new Course(name, credits, days, startTime, duration);
-			schedule.add(course);
+
+			char prefix = line.charAt(0);
+			Course course = parseCourse(line.substring(1));
+			if (course == null) {
+				throw new InputMismatchException(line);
+			} else if (prefix == ScheduleChangeset.ADDED_PREFIX) {
+				added.add(course);
+			} else if (prefix == ScheduleChangeset.REMOVED_PREFIX) {
+				removed.add(course);
+			} else {
+				throw new InputMismatchException(line);
+			}
+		}
+		return new ScheduleChangeset(added, removed);
+	}
+
+	/**
+	 * Converts one line of a schedule file into a course.
+	 * For example, turns "EGR 222,3,MWF,05:00 PM,60" into the matching Course.
+	 * Splits on commas directly instead of using a Scanner, since this is the hot loop of every loader.
+	 * @param line the line to convert
+	 * @return the course, or null if the line is blank
+	 * @throws NoSuchElementException if the line has fewer than 5 fields
+	 * @throws InputMismatchException if the credits, days or duration are malformed
+	 */
+	public static Course parseCourse(String line) {
+		if (line.isEmpty()) {
+			return null;
+		}
+
+		int end1 = nextComma(line, 0);
+		int end2 = nextComma(line, end1 + 1);
+		int end3 = nextComma(line, end2 + 1);
+		int end4 = nextComma(line, end3 + 1);
+		int end5 = line.indexOf(',', end4 + 1);   // any further fields are ignored
+		if (end5 < 0) {
+			end5 = line.length();
+		}
+
+		String name = line.substring(0, end1);
+		int credits = parseInt(line.substring(end1 + 1, end2));
+		DaySet days = weekdaysFromShortNames(line.substring(end2 + 1, end3));
+		Time startTime = Time.fromString(line.substring(end3 + 1, end4));
+		int duration = parseInt(line.substring(end4 + 1, end5));
+
+		return Course.of(name, credits, days, startTime, duration);
+	}
+
+	// Returns the index of the next comma at or after from, which must exist
+	private static int nextComma(String line, int from) {
+		int comma = from > line.length() ? -1 : line.indexOf(',', from);
+		if (comma < 0) {
+			throw new NoSuchElementException(line);
+		}
+		return comma;
+	}
+
+	private static int parseInt(String token) {
+		try {
+			return Integer.parseInt(token);
+		} catch (NumberFormatException e) {
+			throw new InputMismatchException(token);
 		}
-		return schedule;
 	}
 
 	/**
@@ -53,14 +142,9 @@ public class ScheduleIO {
 	 * For example, turns "MWF" into the set [MONDAY, WEDNESDAY, FRIDAY].
 	 * @param shortNames string of condensed weekday names, such as "MWF".
 	 */
-	public static Set<Weekday> weekdaysFromShortNames(String shortNames) {
+	public static DaySet weekdaysFromShortNames(String shortNames) {
 		try {
-			Set<Weekday> days = EnumSet.noneOf(Weekday.class);
-			for (int i = 0; i < shortNames.length(); i++) {
-				Weekday day = Weekday.fromString(shortNames.substring(i, i+1));
-				days.add(day);
-			}
-			return days;
+			return DaySet.fromShortNames(shortNames);
 		} catch (IllegalArgumentException e) {
 			throw new InputMismatchException(shortNames);
 		}
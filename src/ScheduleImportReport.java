@@ -0,0 +1,117 @@
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * A ScheduleImportReport object summarizes a bulk import done by ScheduleImporter:
+ * the schedules that were loaded, the files that failed and why, and totals over all files.
+ * Results are recorded concurrently by the importer threads.
+ */
+public class ScheduleImportReport {
+    private final Map<Path, Schedule> schedules = new ConcurrentSkipListMap<>();
+    private final Map<Path, Exception> errors = new ConcurrentSkipListMap<>();
+    private final AtomicInteger conflicts = new AtomicInteger();
+    private final LongAdder totalCredits = new LongAdder();
+    private final LongAdder totalCourses = new LongAdder();
+
+    // Records a file that loaded successfully
+    void loaded(Path file, Schedule schedule) {
+        schedules.put(file, schedule);
+        totalCredits.add(schedule.totalCredits());
+        totalCourses.add(schedule.size());
+    }
+
+    // Records a file that failed to load
+    void failed(Path file, Exception e) {
+        if (e instanceof ScheduleConflictException) conflicts.incrementAndGet();
+        errors.put(file, e);
+    }
+
+    /**
+     * Returns the number of files the import looked at
+     * @return the number of loaded plus failed files
+     */
+    public int getFileCount() {
+        return schedules.size() + errors.size();
+    }
+
+    /**
+     * Returns the number of files that loaded successfully
+     * @return the number of loaded schedules
+     */
+    public int getLoadedCount() {
+        return schedules.size();
+    }
+
+    /**
+     * Returns the number of files that failed to load for any reason, including conflicts
+     * @return the number of failed files
+     */
+    public int getErrorCount() {
+        return errors.size();
+    }
+
+    /**
+     * Returns the number of files that failed to load because two of their courses conflict
+     * @return the number of files with a schedule conflict
+     */
+    public int getConflictCount() {
+        return conflicts.get();
+    }
+
+    /**
+     * Returns the total credits over all loaded schedules
+     * @return the sum of totalCredits() of every loaded schedule
+     */
+    public long getTotalCredits() {
+        return totalCredits.sum();
+    }
+
+    /**
+     * Returns the total number of courses over all loaded schedules
+     * @return the number of loaded courses
+     */
+    public long getTotalCourses() {
+        return totalCourses.sum();
+    }
+
+    /**
+     * Returns the schedule loaded from the given file
+     * @param file
+     * @return the schedule, or null if the file wasn't loaded
+     */
+    public Schedule getSchedule(Path file) {
+        return schedules.get(file);
+    }
+
+    /**
+     * Returns the loaded schedules ordered by file path
+     * @return stream of loaded schedules
+     */
+    public Stream<Schedule> schedules() {
+        return schedules.values().stream();
+    }
+
+    /**
+     * Returns the files that failed to load, ordered by path, with the exception each one failed with
+     * @return read-only map from file to error
+     */
+    public Map<Path, Exception> getErrors() {
+        return Collections.unmodifiableMap(errors);
+    }
+
+    /**
+     * Overrides toString from the Object superclass
+     * @return a one line summary of the import
+     */
+    @Override
+    public String toString() {
+        return getFileCount() + " files, " + getLoadedCount() + " loaded, " + getErrorCount() + " failed ("
+                + getConflictCount() + " conflicts), " + getTotalCourses() + " courses, "
+                + getTotalCredits() + " credits";
+    }
+}
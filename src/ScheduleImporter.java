@@ -0,0 +1,196 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A ScheduleImporter object loads a whole directory tree of schedule files,
+ * one student schedule per file, with ScheduleIO.load.
+ * Files are loaded concurrently, at most maxConcurrency at a time.
+ * Loading is I/O bound, so each file gets its own thread: a virtual thread when the
+ * Java runtime running the project has them (Java 21+; the project itself targets Java 11),
+ * and a daemon platform thread otherwise, so that loads left waiting never keep the JVM alive.
+ */
+public class ScheduleImporter {
+    /** the number of files loaded at the same time when no limit is given */
+    public static final int DEFAULT_CONCURRENCY = 256;
+
+    // marks the end of the schedules stream
+    private static final Object END = new Object();
+
+    private final int maxConcurrency;
+
+    /**
+     * Constructor for ScheduleImporter that loads DEFAULT_CONCURRENCY files at a time
+     */
+    public ScheduleImporter() {
+        this(DEFAULT_CONCURRENCY);
+    }
+
+    /**
+     * Constructor for ScheduleImporter
+     * @param maxConcurrency the maximum number of files loaded at the same time. should be positive
+     *                       otherwise, IllegalArgumentException is thrown
+     */
+    public ScheduleImporter(int maxConcurrency) {
+        if (maxConcurrency <= 0) throw new IllegalArgumentException();
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Loads every regular file under the given directory (recursively) as a schedule.
+     * A file that fails to load is recorded in the report and doesn't stop the import
+     * @param directory the root of the directory tree. shouldn't be null
+     * @return the report with the loaded schedules, errors and totals
+     * @throws IOException if the directory tree can't be walked
+     * @throws InterruptedException if interrupted while waiting for the loads to finish
+     */
+    public ScheduleImportReport importDirectory(Path directory) throws IOException, InterruptedException {
+        ScheduleImportReport report = new ScheduleImportReport();
+        Semaphore permits = new Semaphore(maxConcurrency);
+        ExecutorService executor = newPerTaskExecutor();
+        try (Stream<Path> files = Files.walk(directory)) {
+            Iterator<Path> it = files.filter(Files::isRegularFile).iterator();
+            while (it.hasNext()) {
+                Path file = it.next();
+                permits.acquire(); //the walk waits here while maxConcurrency files are loading
+                executor.execute(() -> {
+                    try {
+                        report.loaded(file, load(file));
+                    } catch (Exception e) {
+                        report.failed(file, e);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+        return report;
+    }
+
+    /**
+     * Loads every regular file under the given directory and streams the loaded schedules
+     * as their loads complete, without collecting them first.
+     * The walk and the loads run in the background, at most maxConcurrency loads at a time, and
+     * pause while maxConcurrency loaded schedules are waiting to be taken from the stream.
+     * Files that fail to load are skipped.
+     * Close the stream to stop the import early, for example with try-with-resources;
+     * closing cancels the loads still running and drops the schedules not taken yet
+     * @param directory the root of the directory tree. shouldn't be null
+     * @return stream of the loaded schedules, in the order their loads complete
+     * @throws IOException if the directory tree can't be walked
+     */
+    public Stream<Schedule> schedules(Path directory) throws IOException {
+        Stream<Path> files = Files.walk(directory);
+        BlockingQueue<Object> results = new ArrayBlockingQueue<>(maxConcurrency);
+        ExecutorService executor = newPerTaskExecutor();
+        Thread walker = new Thread(() -> walk(files, executor, results), "ScheduleImporter " + directory);
+        walker.setDaemon(true);
+        walker.start();
+
+        Spliterator<Schedule> loaded = new Spliterators.AbstractSpliterator<Schedule>(Long.MAX_VALUE,
+                Spliterator.NONNULL) {
+            private boolean done;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Schedule> action) {
+                if (done) return false;
+                Object result;
+                try {
+                    result = results.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("interrupted while waiting for a schedule", e);
+                }
+                if (result instanceof Schedule) {
+                    action.accept((Schedule) result);
+                    return true;
+                }
+                done = true;
+                if (result instanceof IOException) throw new UncheckedIOException((IOException) result);
+                return false;
+            }
+        };
+        return StreamSupport.stream(loaded, false).onClose(() -> {
+            walker.interrupt();
+            executor.shutdownNow(); //interrupts the loads, including those waiting to put their schedule
+            results.clear();
+        });
+    }
+
+    // Runs on the walker thread of schedules: loads each file on the executor into results,
+    // then puts the walk's IOException or END once every load is done
+    private void walk(Stream<Path> files, ExecutorService executor, BlockingQueue<Object> results) {
+        Semaphore permits = new Semaphore(maxConcurrency);
+        Object end = END;
+        try {
+            try {
+                Iterator<Path> it = files.filter(Files::isRegularFile).iterator();
+                while (it.hasNext()) {
+                    Path file = it.next();
+                    permits.acquire(); //the walk waits here while maxConcurrency files are loading
+                    executor.execute(() -> {
+                        try {
+                            results.put(load(file)); //waits while the reader of the stream is behind
+                        } catch (Exception e) {
+                            //skipped, and so is a load interrupted by closing the stream
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                }
+            } catch (UncheckedIOException e) {
+                end = e.getCause();
+            } finally {
+                files.close();
+            }
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            results.put(end);
+        } catch (InterruptedException | RejectedExecutionException e) {
+            //the stream was closed
+        }
+    }
+
+    // Loads one schedule file
+    private static Schedule load(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return ScheduleIO.load(in);
+        }
+    }
+
+    // Returns an executor that starts one virtual thread per task when the runtime has them,
+    // and otherwise reuses idle daemon threads like a cached thread pool
+    private static ExecutorService newPerTaskExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "ScheduleImporter load");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
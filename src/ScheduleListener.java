@@ -0,0 +1,11 @@
+/**
+ * A ScheduleListener is notified of the changes made to a Schedule it is registered with.
+ * See Schedule.addScheduleListener
+ */
+public interface ScheduleListener {
+    /**
+     * Called after the schedule changed. Changes made inside a batch arrive as one event
+     * @param event what changed
+     */
+    void scheduleChanged(ScheduleEvent event);
+}
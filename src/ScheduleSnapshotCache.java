@@ -0,0 +1,130 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Loads schedule files through a binary snapshot of the parsed Schedule kept next to the file.
+ * The snapshot is saved as a ".snapshot" sidecar in the Schedule's serialized form, under a header
+ * holding the size, modification time and CRC32C checksum of the text it was parsed from.
+ * Loading an unchanged file reads the snapshot instead of parsing the text; a missing, stale or
+ * unreadable snapshot falls back to parsing the file and is written again.
+ */
+public class ScheduleSnapshotCache {
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+    private static final long SNAPSHOT_MAGIC = 0x4547523232325353L; // "EGR222SS"
+    private static final int HASH_BUFFER_BYTES = 1 << 16;
+    // the snapshot holds nothing but a schedule and its courses, in their serialized forms
+    private static final ObjectInputFilter SNAPSHOT_FILTER =
+            ObjectInputFilter.Config.createFilter(
+                    "Schedule;Schedule$SerialForm;Course;Course$SerialForm;Time;Time$SerialForm;!*");
+
+    private ScheduleSnapshotCache() {
+    }
+
+    /**
+     * Loads the schedule file, from its snapshot if the snapshot is up to date,
+     * and otherwise with ScheduleIO.loadParallel, saving a new snapshot afterwards
+     * @param file the schedule file
+     * @return the schedule in the file
+     * @throws java.util.InputMismatchException if a line of the file is malformed
+     * @throws ScheduleConflictException if two courses of the file conflict
+     */
+    public static Schedule load(Path file) throws IOException, ScheduleConflictException {
+        long fileSize = Files.size(file);
+        long modified = Files.getLastModifiedTime(file).toMillis();
+        long checksum = checksum(file);
+
+        Schedule schedule = readSnapshot(snapshotOf(file), fileSize, modified, checksum);
+        if (schedule == null) {
+            schedule = ScheduleIO.loadParallel(file);
+            writeSnapshot(snapshotOf(file), fileSize, modified, checksum, schedule);
+        }
+        return schedule;
+    }
+
+    /**
+     * Returns the schedule saved in the file's snapshot without parsing the file
+     * @param file the schedule file
+     * @return the snapshot's schedule, or null if there is no snapshot matching the file's current contents
+     */
+    static Schedule readSnapshot(Path file) throws IOException {
+        return readSnapshot(snapshotOf(file), Files.size(file), Files.getLastModifiedTime(file).toMillis(),
+                checksum(file));
+    }
+
+    static Path snapshotOf(Path file) {
+        return file.resolveSibling(file.getFileName() + SNAPSHOT_SUFFIX);
+    }
+
+    // CRC32C of the whole file, which catches edits that keep the size and modification time
+    private static long checksum(Path file) throws IOException {
+        CRC32C crc = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(HASH_BUFFER_BYTES);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                crc.update(buffer);
+                buffer.clear();
+            }
+        }
+        return crc.getValue();
+    }
+
+    private static Schedule readSnapshot(Path snapshot, long fileSize, long modified, long checksum) {
+        if (!Files.isRegularFile(snapshot)) return null;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(snapshot))) {
+            DataInputStream header = new DataInputStream(in);
+            if (header.readLong() != SNAPSHOT_MAGIC || header.readLong() != fileSize
+                    || header.readLong() != modified || header.readLong() != checksum) {
+                return null;
+            }
+            ObjectInputStream body = new ObjectInputStream(in);
+            body.setObjectInputFilter(SNAPSHOT_FILTER);
+            Object schedule = body.readObject();
+            return schedule instanceof Schedule ? (Schedule) schedule : null;
+        } catch (IOException | ClassNotFoundException e) {
+            //a damaged or outdated snapshot is parsed again like a missing one
+            return null;
+        }
+    }
+
+    // Saves the snapshot through a temporary file, so that a concurrent load never reads half of it;
+    // a snapshot that can't be written only costs a parse on the next load
+    private static void writeSnapshot(Path snapshot, long fileSize, long modified, long checksum, Schedule schedule) {
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(snapshot.toAbsolutePath().getParent(), snapshot.getFileName().toString(), ".tmp");
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                DataOutputStream header = new DataOutputStream(out);
+                header.writeLong(SNAPSHOT_MAGIC);
+                header.writeLong(fileSize);
+                header.writeLong(modified);
+                header.writeLong(checksum);
+                ObjectOutputStream body = new ObjectOutputStream(out);
+                body.writeObject(schedule);
+                body.flush();
+            }
+            Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            try {
+                if (temp != null) Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                //nothing else to clean up
+            }
+        }
+    }
+}
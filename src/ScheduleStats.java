@@ -0,0 +1,144 @@
+import java.util.NavigableMap;
+
+/**
+ * A ScheduleStats object holds aggregate numbers about a schedule: credits, and per weekday the minutes
+ * in class, the first and last course and the minutes of gaps between courses.
+ * The schedule updates it on every add and remove, so every number is read in O(1)
+ * without looking at the courses. It is a read-only live view of its schedule; see Schedule.getStats.
+ * Not thread-safe, like Schedule.
+ */
+public class ScheduleStats {
+    private static final int DAY_COUNT = Weekday.values().length;
+
+    private int courseCount;
+    private int totalCredits;
+    private int totalMinutes;
+    private final int[] minutes = new int[DAY_COUNT];
+    private final Course[] first = new Course[DAY_COUNT];
+    private final Course[] last = new Course[DAY_COUNT];
+
+    ScheduleStats() {
+    }
+
+    // Copy constructor, for Schedule.clone
+    ScheduleStats(ScheduleStats other) {
+        courseCount = other.courseCount;
+        totalCredits = other.totalCredits;
+        totalMinutes = other.totalMinutes;
+        System.arraycopy(other.minutes, 0, minutes, 0, DAY_COUNT);
+        System.arraycopy(other.first, 0, first, 0, DAY_COUNT);
+        System.arraycopy(other.last, 0, last, 0, DAY_COUNT);
+    }
+
+    // Called by the schedule after the course was added
+    void courseAdded(Course course) {
+        courseCount++;
+        totalCredits += course.getCredits();
+        for (Weekday day : course.getDaysOffered()) {
+            int d = day.ordinal();
+            minutes[d] += course.getDuration();
+            totalMinutes += course.getDuration();
+            if (first[d] == null || course.getStartMinute() < first[d].getStartMinute()) first[d] = course;
+            if (last[d] == null || course.getStartMinute() > last[d].getStartMinute()) last[d] = course;
+        }
+    }
+
+    // Called by the schedule after the course was removed from the given day index of the schedule,
+    // which is used to find the new first or last course of a day in O(log n).
+    // The course may be an equal copy of the one the schedule held, so it is compared with equals
+    void courseRemoved(Course course, Weekday day, NavigableMap<Integer, Course> index) {
+        int d = day.ordinal();
+        minutes[d] -= course.getDuration();
+        totalMinutes -= course.getDuration();
+        if (course.equals(first[d])) first[d] = index.isEmpty() ? null : index.firstEntry().getValue();
+        if (course.equals(last[d])) last[d] = index.isEmpty() ? null : index.lastEntry().getValue();
+    }
+
+    // Called by the schedule once the course was removed from every day
+    void courseRemoved(Course course) {
+        courseCount--;
+        totalCredits -= course.getCredits();
+    }
+
+    /**
+     * Returns the number of courses
+     * @return the number of courses
+     */
+    public int getCourseCount() {
+        return courseCount;
+    }
+
+    /**
+     * Returns the total credits of all courses
+     * @return the total credits
+     */
+    public int getTotalCredits() {
+        return totalCredits;
+    }
+
+    /**
+     * Returns the minutes in class over the whole week
+     * @return the sum over all days of the minutes in class
+     */
+    public int getTotalMinutes() {
+        return totalMinutes;
+    }
+
+    /**
+     * Returns the minutes in class on the given day
+     * @param day
+     * @return the sum of the durations of the courses on that day
+     */
+    public int getMinutes(Weekday day) {
+        return minutes[day.ordinal()];
+    }
+
+    /**
+     * Returns the earliest course on the given day
+     * @param day
+     * @return the first course, or null if there are no courses that day
+     */
+    public Course getFirstCourse(Weekday day) {
+        return first[day.ordinal()];
+    }
+
+    /**
+     * Returns the latest course on the given day
+     * @param day
+     * @return the last course, or null if there are no courses that day
+     */
+    public Course getLastCourse(Weekday day) {
+        return last[day.ordinal()];
+    }
+
+    /**
+     * Returns the minutes between courses on the given day, from the start of the first course
+     * to the end of the last one. Courses on one day don't overlap, so this is that span minus the minutes in class
+     * @param day
+     * @return the total of the gaps on that day
+     */
+    public int getGapMinutes(Weekday day) {
+        int d = day.ordinal();
+        if (first[d] == null) return 0;
+        int span = last[d].getStartMinute() + last[d].getDuration() - first[d].getStartMinute();
+        return span - minutes[d];
+    }
+
+    /**
+     * Returns the minutes between courses over the whole week
+     * @return the sum over all days of the gaps
+     */
+    public int getTotalGapMinutes() {
+        int total = 0;
+        for (Weekday day : Weekday.values()) {
+            total += getGapMinutes(day);
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return courseCount + " courses, " + totalCredits + " credits, " + totalMinutes + " minutes, "
+                + getTotalGapMinutes() + " minutes of gaps";
+    }
+}
@@ -1,7 +1,10 @@
 // EGR 222, Homework 6 (Scheduler)
 // Instructor-provided code; do not modify.
 
+import javax.swing.event.TableModelEvent;
 import javax.swing.table.AbstractTableModel;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * This class represents the underlying data source used by a JTable
@@ -15,23 +18,134 @@ public class ScheduleTableModel extends AbstractTableModel {
 	// this field is required to get rid of a Serializable warning (lame)
 	private static final long serialVersionUID = 1L;
 	
-	// these constants control the visible range of schedule times
-	private static final int START_HOUR   = 7;   // starts at half-past
-	private static final int ROW_COUNT    = 44;  // 7:00 -> 5:45 inclusive
+	// these constants control the default range of schedule times
+	private static final int DEFAULT_START_MINUTE = 7 * 60;    // 7:00 AM
+	private static final int DEFAULT_END_MINUTE   = 18 * 60;   // 7:00 -> 5:45 inclusive
+	private static final int DEFAULT_MINUTES_PER_ROW = 15;
+	private static final int MINUTES_PER_DAY = 24 * 60;
 	private static final int COLUMN_COUNT = 6;   // 5 days of week + 1 header
+	
+	/** the row sizes a table can use, in minutes */
+	public static final int[] RESOLUTIONS = {5, 10, 15, 30};
+	
+	private static final Course[] NO_COURSES = new Course[0];
 
-	private Schedule schedule;
+	// a table model is only ever used on screen, never serialized
+	private transient Schedule schedule;
+	private transient ScheduleHistory history;
+	
+	// the visible range of schedule times, [startMinute, endMinute)
+	private final int startMinute;
+	private final int endMinute;
+	private int minutesPerRow;
+	private int rowCount;
+	private String[] timeLabels;   // time column text, precomputed per resolution
+	
+	// courses in session during each row, per day column and by start time, filled in lazily
+	// as rows are painted; rows[row] is null until that row is first asked for
+	private Course[][][] rows;
 	
 	/**
-	 * Constructs a new table model to display the given schedule as a table.
+	 * Returns a new table model to display the given schedule as a table,
+	 * showing 7:00 AM to 5:45 PM in 15 minute rows.
 	 * @param schedule the student's schedule
 	 * @throws IllegalArgumentException if schedule is null
 	 */
-	public ScheduleTableModel(Schedule schedule) {
+	public static ScheduleTableModel of(Schedule schedule) {
+		return listening(new ScheduleTableModel(schedule, DEFAULT_MINUTES_PER_ROW,
+				DEFAULT_START_MINUTE, DEFAULT_END_MINUTE));
+	}
+	
+	/**
+	 * Returns a new table model to display the given schedule as a table
+	 * covering the whole day, midnight to midnight.
+	 * @param schedule the student's schedule
+	 * @param minutesPerRow the row size, one of RESOLUTIONS
+	 * @throws IllegalArgumentException if schedule is null or the row size is not supported
+	 */
+	public static ScheduleTableModel of(Schedule schedule, int minutesPerRow) {
+		return listening(new ScheduleTableModel(schedule, minutesPerRow, 0, MINUTES_PER_DAY));
+	}
+	
+	private ScheduleTableModel(Schedule schedule, int minutesPerRow, int startMinute, int endMinute) {
 		if (schedule == null) {
 			throw new IllegalArgumentException("schedule cannot be null");
 		}
 		this.schedule = schedule;
+		this.history = new ScheduleHistory(schedule);
+		this.startMinute = startMinute;
+		this.endMinute = endMinute;
+		applyResolution(minutesPerRow);
+	}
+	
+	// Makes the model redraw whatever changes its schedule, whether it comes through the model or not;
+	// changes must be made on the event dispatch thread. This is done once the model is constructed,
+	// so the schedule never holds a model that isn't fully built
+	private static ScheduleTableModel listening(ScheduleTableModel model) {
+		model.schedule.addScheduleListener(model::coursesChanged);
+		return model;
+	}
+	
+	// Redraws the cells of the changed courses, or the whole table after a large batch.
+	// A change of order alone doesn't change the grid.
+	private void coursesChanged(ScheduleEvent event) {
+		if (event.getAdded().size() + event.getRemoved().size() > rowCount) {
+			scheduleChanged();
+			return;
+		}
+		for (Course course : event.getRemoved()) {
+			fireCourseChanged(course);
+		}
+		for (Course course : event.getAdded()) {
+			fireCourseChanged(course);
+		}
+	}
+	
+	/**
+	 * Returns the number of minutes each row covers.
+	 */
+	public int getResolution() {
+		return minutesPerRow;
+	}
+	
+	/**
+	 * Changes the number of minutes each row covers; the table is redrawn with the new rows.
+	 * @param minutesPerRow the row size, one of RESOLUTIONS
+	 * @throws IllegalArgumentException if the row size is not supported
+	 */
+	public void setResolution(int minutesPerRow) {
+		if (minutesPerRow != this.minutesPerRow) {
+			applyResolution(minutesPerRow);
+			fireTableDataChanged();
+		}
+	}
+	
+	// Sets up the rows and their time labels for the given row size
+	private void applyResolution(int minutesPerRow) {
+		boolean supported = false;
+		for (int resolution : RESOLUTIONS) {
+			supported |= resolution == minutesPerRow;
+		}
+		if (!supported) {
+			throw new IllegalArgumentException("unsupported resolution: " + minutesPerRow);
+		}
+		
+		this.minutesPerRow = minutesPerRow;
+		this.rowCount = (endMinute - startMinute) / minutesPerRow;
+		this.timeLabels = new String[rowCount];
+		for (int row = 0; row < rowCount; row++) {
+			timeLabels[row] = Time.fromMinute(startMinute + row * minutesPerRow).toString();
+		}
+		this.rows = new Course[rowCount][][];
+	}
+	
+	/**
+	 * Forgets every looked up course and redraws the whole table from the schedule.
+	 * Changes to the schedule are picked up without calling this.
+	 */
+	public void scheduleChanged() {
+		rows = new Course[rowCount][][];
+		fireTableDataChanged();
 	}
 	
 	@Override
@@ -46,15 +160,16 @@ public class ScheduleTableModel extends AbstractTableModel {
 	@Override
 	/**
 	 * Returns the number of rows in this table model;
-	 * this is 1 for every half hour after the internal start time.
+	 * this is 1 for every row of minutes in the visible range.
 	 */
 	public int getRowCount() {
-		return ROW_COUNT;
+		return rowCount;
 	}
 
 	@Override
 	/**
-	 * Returns the Course object (if any) stored at the given row and column.
+	 * Returns the name of the course (if any) in session during the given row and column,
+	 * or the names of all of them, separated by commas, if several courses share the row.
 	 * @param row the table row to examine
 	 * @param column the table column to examine
 	 * @throw IllegalArgumentException if the row or column is outside the
@@ -64,14 +179,86 @@ public class ScheduleTableModel extends AbstractTableModel {
 		checkRow(row);
 		checkColumn(column);
 		
-		Time time = toTime(row);
 		if (column == 0) {
-			return time;   // a time label in the leftmost column
+			return timeLabels[row];   // a time label in the leftmost column
 		}
 
-		Weekday day = toDay(column);
-		Course course = schedule.getCourse(day, time);
-		return (course == null) ? null : course.getName();
+		Course[] courses = coursesInRow(row)[column];
+		if (courses.length == 0) {
+			return null;
+		}
+		StringBuilder names = new StringBuilder(courses[0].getName());
+		for (int i = 1; i < courses.length; i++) {
+			names.append(", ").append(courses[i].getName());
+		}
+		return names.toString();
+	}
+	
+	/**
+	 * Returns the first Course object (if any) in session during the given row and day column,
+	 * which is the course the cell is drawn for.
+	 * @param row the table row to examine
+	 * @param column the table column to examine; 0 (the time column) has no courses
+	 * @throw IllegalArgumentException if the row or column is outside the
+	 *        bounds of this table
+	 */
+	public Course getCourseAt(int row, int column) {
+		checkRow(row);
+		checkColumn(column);
+		Course[] courses = coursesInRow(row)[column];
+		return (courses.length == 0) ? null : courses[0];
+	}
+	
+	/**
+	 * Returns every Course object in session at some minute of the given row and day column,
+	 * ordered by start time. A row holds several courses when they are shorter than the row.
+	 * @param row the table row to examine
+	 * @param column the table column to examine; 0 (the time column) has no courses
+	 * @throw IllegalArgumentException if the row or column is outside the
+	 *        bounds of this table
+	 */
+	public List<Course> getCoursesAt(int row, int column) {
+		checkRow(row);
+		checkColumn(column);
+		return Arrays.asList(coursesInRow(row)[column].clone());
+	}
+	
+	// Returns the courses of the given row by column, looking them up the first time
+	// the row is asked for. Only rows the table paints are ever looked up.
+	// A course is in a row if it is in session during any of the row's minutes,
+	// which are the rows from firstRowOf to lastRowOf.
+	private Course[][] coursesInRow(int row) {
+		Course[][] courses = rows[row];
+		if (courses == null) {
+			courses = new Course[COLUMN_COUNT][];
+			courses[0] = NO_COURSES;
+			int minute = toMinute(row);
+			for (int column = 1; column < COLUMN_COUNT; column++) {
+				courses[column] = schedule.coursesDuring(toDay(column), minute, minute + minutesPerRow)
+						.toArray(Course[]::new);
+			}
+			rows[row] = courses;
+		}
+		return courses;
+	}
+	
+	/**
+	 * Returns the row in which the given course starts. The row may be
+	 * outside of the table if the course starts before the visible range.
+	 * @param course the course to examine
+	 */
+	public int firstRowOf(Course course) {
+		return Math.floorDiv(course.getStartMinute() - startMinute, minutesPerRow);
+	}
+	
+	/**
+	 * Returns the row in which the given course ends. The row may be
+	 * outside of the table if the course ends after the visible range.
+	 * @param course the course to examine
+	 */
+	public int lastRowOf(Course course) {
+		int end = course.getStartMinute() - startMinute + course.getDuration();
+		return Math.floorDiv(end - 1, minutesPerRow);
 	}
 	
 	/**
@@ -81,24 +268,79 @@ public class ScheduleTableModel extends AbstractTableModel {
 	 *         ScheduleConflictException if there is a schedule conflict
 	 */
 	public void addCourse(Course course) throws ScheduleConflictException, IllegalArgumentException {
-		if (schedule == null) {
+		if (course == null) {
 			throw new IllegalArgumentException("course cannot be null");
 		}
-		schedule.add(course);
-		fireTableDataChanged();   // so the GUI will redraw
+		history.add(course);   // the schedule tells the GUI to redraw
 	}
 	
 	/**
 	 * Removes the course that occupies the given row/column (if any)
-	 * from the current student's schedule.
+	 * from the current student's schedule; if several courses share the row,
+	 * the one drawn in the cell, see getCourseAt.
 	 * @param row
 	 * @param column
 	 */
 	public void removeCourse(int row, int column) {
-		Weekday day = toDay(column);
-		Time time = toTime(row);
-		schedule.remove(day, time);
-		fireTableDataChanged();   // so the GUI will redraw
+		Course course = getCourseAt(row, column);
+		if (course != null) {
+			history.remove(toDay(column), course.getStartTime());   // the schedule tells the GUI to redraw
+		}
+	}
+	
+	/**
+	 * Undoes the latest add or remove made through this model (if any).
+	 * @return true if there was something to undo
+	 * @throws ScheduleConflictException if the schedule was changed outside of this model
+	 *         so that the undone removal now conflicts
+	 */
+	public boolean undo() {
+		return history.undo() != null;
+	}
+	
+	/**
+	 * Redoes the latest undone add or remove (if any).
+	 * @return true if there was something to redo
+	 * @throws ScheduleConflictException if the schedule was changed outside of this model
+	 *         so that the redone add now conflicts
+	 */
+	public boolean redo() {
+		return history.redo() != null;
+	}
+	
+	/**
+	 * Returns true if there is an add or remove to undo.
+	 */
+	public boolean canUndo() {
+		return history.canUndo();
+	}
+	
+	/**
+	 * Returns true if there is an undone add or remove to redo.
+	 */
+	public boolean canRedo() {
+		return history.canRedo();
+	}
+	
+	// Notifies the table that only the cells the given course spans have changed,
+	// one event per day column, so the table repaints just those rectangles.
+	// Forgets the looked up courses of those rows.
+	// Does nothing for a null course or a course outside the visible range.
+	private void fireCourseChanged(Course course) {
+		if (course == null) {
+			return;
+		}
+		int firstRow = Math.max(0, firstRowOf(course));
+		int lastRow = Math.min(rowCount - 1, lastRowOf(course));
+		if (firstRow > lastRow) {
+			return;
+		}
+		for (int row = firstRow; row <= lastRow; row++) {
+			rows[row] = null;
+		}
+		for (Weekday day : course.getDaysOffered()) {
+			fireTableChanged(new TableModelEvent(this, firstRow, lastRow, day.ordinal() + 1));
+		}
 	}
 	
 	// A helper that throws an IllegalArgumentException if the given
@@ -135,25 +377,8 @@ public class ScheduleTableModel extends AbstractTableModel {
 		}
 	}
 	
-	// returns the Time that corresponds to the given row
-	private static Time toTime(int row) {
-		// every 2 columns correspond to one row
-		int hour = START_HOUR + row / 4;
-		int minute = 15 * (row % 4);
-
-		row++;
-
-		
-		// determine AM vs. PM based on 12-hour clock
-		boolean pm = false;
-		if (hour >= 12) {
-			pm = true;
-			if (hour > 12) {
-				hour -= 12;
-			}
-		}
-		
-		Time time = new Time(hour, minute, pm);
-		return time;
+	// returns the minute of the day at which the given row starts
+	private int toMinute(int row) {
+		return startMinute + row * minutesPerRow;
 	}
 }
@@ -0,0 +1,301 @@
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.InputMismatchException;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * This class contains the main method of the headless command-line tool for schedule files.
+ * Unlike SchedulerMain it never touches AWT/Swing, so it starts fast and can run on servers
+ * without a display and inside shell pipelines.
+ *
+ * Usage:
+ * <pre>
+ *   java ScheduleTool validate [file...]                 reports bad lines and conflicts
+ *   java ScheduleTool sort name|credits|time [file]      prints the courses in the given order
+ *   java ScheduleTool convert text|json [file]           prints the courses in the given format
+ *   java ScheduleTool credits [file...]                  prints the total credits of each file
+ * </pre>
+ * Every command reads both formats, even mixed in one file: lines of the course text format,
+ * and JSON objects one per line as written by convert json.
+ * A missing file or "-" reads standard input. Everything but sort streams its input line by line.
+ * Exit status is 0 on success, 1 if an input is invalid and 2 on a usage error.
+ */
+public class ScheduleTool {
+    private static final String STDIN = "-";
+
+    public static void main(String[] args) {
+        PrintStream out = new PrintStream(new BufferedOutputStream(System.out, 1 << 16), false);
+        int status;
+        try {
+            status = run(args, out, System.err);
+        } catch (IOException e) {
+            System.err.println(e);
+            status = 1;
+        }
+        out.flush();
+        System.exit(status);
+    }
+
+    /**
+     * Runs one command of the tool
+     * @param args command line arguments, starting with the command
+     * @param out where the results are written
+     * @param err where bad lines and usage errors are reported
+     * @return the exit status
+     * @throws IOException if an input can't be read
+     */
+    public static int run(String[] args, PrintStream out, PrintStream err) throws IOException {
+        if (args.length == 0) return usage(err);
+
+        String command = args[0];
+        if (command.equals("validate")) {
+            return validate(files(args, 1), out);
+        } else if (command.equals("credits")) {
+            return credits(files(args, 1), out, err);
+        } else if (command.equals("sort") && args.length >= 2 && args.length <= 3) {
+            Comparator<Course> order = comparator(args[1]);
+            if (order == null) return usage(err);
+            return sort(file(args, 2), order, out, err);
+        } else if (command.equals("convert") && args.length >= 2 && args.length <= 3) {
+            if (!args[1].equals("text") && !args[1].equals("json")) return usage(err);
+            return convert(file(args, 2), args[1].equals("json"), out, err);
+        }
+        return usage(err);
+    }
+
+    // Checks every line of every file, reporting all bad lines and conflicts rather than the first one
+    private static int validate(List<String> files, PrintStream out) throws IOException {
+        int status = 0;
+        for (String file : files) {
+            Schedule schedule = new Schedule();
+            int problems = 0;
+            try (BufferedReader in = open(file)) {
+                String line;
+                int lineNumber = 0;
+                while ((line = in.readLine()) != null) {
+                    lineNumber++;
+                    try {
+                        Course course = parseLine(line);
+                        if (course != null) schedule.add(course);
+                    } catch (RuntimeException e) {
+                        //ScheduleConflictException, or a malformed line from the parser
+                        out.println(file + ":" + lineNumber + ": " + describe(e));
+                        problems++;
+                    }
+                }
+            }
+            out.println(file + ": " + schedule.size() + " courses, " + problems + " problems");
+            if (problems > 0) status = 1;
+        }
+        return status;
+    }
+
+    // Sums the credits of each file without keeping its courses
+    private static int credits(List<String> files, PrintStream out, PrintStream err) throws IOException {
+        int status = 0;
+        for (String file : files) {
+            int credits = 0;
+            try (BufferedReader in = open(file)) {
+                String line;
+                int lineNumber = 0;
+                while ((line = in.readLine()) != null) {
+                    lineNumber++;
+                    try {
+                        Course course = parseLine(line);
+                        if (course != null) credits += course.getCredits();
+                    } catch (RuntimeException e) {
+                        err.println(file + ":" + lineNumber + ": " + describe(e));
+                        status = 1;
+                    }
+                }
+            }
+            out.println(file + ": " + credits);
+        }
+        return status;
+    }
+
+    // Sorting needs all courses, so this is the one command that loads the whole file.
+    // Stops at the first bad line
+    private static int sort(String file, Comparator<Course> order, PrintStream out, PrintStream err)
+            throws IOException {
+        List<Course> courses = new ArrayList<>();
+        try (BufferedReader in = open(file)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                try {
+                    Course course = parseLine(line);
+                    if (course != null) courses.add(course);
+                } catch (RuntimeException e) {
+                    err.println(file + ":" + lineNumber + ": " + describe(e));
+                    return 1;
+                }
+            }
+        }
+        courses.sort(order);
+        for (Course c : courses) {
+            out.println(c);
+        }
+        return 0;
+    }
+
+    // Converts line by line, from either format, into the course text format or into JSON lines.
+    // Stops at the first bad line
+    private static int convert(String file, boolean json, PrintStream out, PrintStream err) throws IOException {
+        try (BufferedReader in = open(file)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                Course course;
+                try {
+                    course = parseLine(line);
+                } catch (RuntimeException e) {
+                    err.println(file + ":" + lineNumber + ": " + describe(e));
+                    return 1;
+                }
+                if (course == null) continue;
+                out.println(json ? toJson(course) : course.toString());
+            }
+        }
+        return 0;
+    }
+
+    // Returns the comparator for the given order name, or null if there is none
+    private static Comparator<Course> comparator(String order) {
+        if (order.equals("name")) return new CourseNameComparator();
+        if (order.equals("credits")) return new CourseCreditComparator();
+        if (order.equals("time")) return new CourseTimeComparator();
+        return null;
+    }
+
+    // Returns the course as one JSON object, for example
+    // {"name":"EGR 222","credits":3,"days":"MWF","start":"05:00 PM","duration":60}
+    private static String toJson(Course course) {
+        return "{\"name\":\"" + course.getName().replace("\\", "\\\\").replace("\"", "\\\"")
+                + "\",\"credits\":" + course.getCredits()
+                + ",\"days\":\"" + course.getDaysOffered().toShortNames()
+                + "\",\"start\":\"" + course.getStartTime()
+                + "\",\"duration\":" + course.getDuration() + "}";
+    }
+
+    // Parses one line of either input format; returns null for a blank line
+    private static Course parseLine(String line) {
+        return line.trim().startsWith("{") ? fromJson(line) : ScheduleIO.parseCourse(line);
+    }
+
+    // Reads a course from a one-line JSON object with the fields toJson writes, in any order.
+    // Only flat objects with string and number values are supported
+    private static Course fromJson(String line) {
+        Map<String, String> fields = new HashMap<>();
+        int i = skipSpace(line, line.indexOf('{') + 1);
+        while (i < line.length() && line.charAt(i) != '}') {
+            StringBuilder key = new StringBuilder();
+            i = skipSpace(line, readString(line, i, key));
+            if (i >= line.length() || line.charAt(i) != ':') throw new InputMismatchException("expected ':' in " + line);
+            i = skipSpace(line, i + 1);
+            StringBuilder value = new StringBuilder();
+            if (i < line.length() && line.charAt(i) == '"') {
+                i = readString(line, i, value);
+            } else {
+                while (i < line.length() && ",} \t".indexOf(line.charAt(i)) < 0) {
+                    value.append(line.charAt(i++));
+                }
+            }
+            fields.put(key.toString(), value.toString());
+            i = skipSpace(line, i);
+            if (i < line.length() && line.charAt(i) == ',') i = skipSpace(line, i + 1);
+        }
+        if (i >= line.length()) throw new InputMismatchException("unterminated JSON object: " + line);
+        return Course.of(field(fields, "name"), parseInt(field(fields, "credits")),
+                ScheduleIO.weekdaysFromShortNames(field(fields, "days")), Time.fromString(field(fields, "start")),
+                parseInt(field(fields, "duration")));
+    }
+
+    // Reads the JSON string starting at the quote at index into value; returns the index after the closing quote
+    private static int readString(String line, int index, StringBuilder value) {
+        if (index >= line.length() || line.charAt(index) != '"') throw new InputMismatchException("expected '\"' in " + line);
+        for (int i = index + 1; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') return i + 1;
+            if (c == '\\') {
+                if (++i >= line.length()) break;
+                c = line.charAt(i);
+                if (c == 'u' && i + 4 < line.length()) {
+                    c = (char) parseInt(line.substring(i + 1, i + 5), 16);
+                    i += 4;
+                }
+            }
+            value.append(c);
+        }
+        throw new InputMismatchException("unterminated string in " + line);
+    }
+
+    private static int skipSpace(String line, int index) {
+        while (index < line.length() && Character.isWhitespace(line.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    private static String field(Map<String, String> fields, String name) {
+        String value = fields.get(name);
+        if (value == null) throw new NoSuchElementException("missing field " + name);
+        return value;
+    }
+
+    private static int parseInt(String token) {
+        return parseInt(token, 10);
+    }
+
+    private static int parseInt(String token, int radix) {
+        try {
+            return Integer.parseInt(token, radix);
+        } catch (NumberFormatException e) {
+            throw new InputMismatchException(token);
+        }
+    }
+
+    private static String describe(RuntimeException e) {
+        return e.getMessage() == null ? e.toString() : e.getMessage();
+    }
+
+    private static List<String> files(String[] args, int from) {
+        List<String> files = new ArrayList<>();
+        for (int i = from; i < args.length; i++) {
+            files.add(args[i]);
+        }
+        if (files.isEmpty()) files.add(STDIN);
+        return files;
+    }
+
+    private static String file(String[] args, int index) {
+        return index < args.length ? args[index] : STDIN;
+    }
+
+    private static BufferedReader open(String file) throws IOException {
+        InputStream in = file.equals(STDIN) ? System.in : new FileInputStream(file);
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16);
+    }
+
+    private static int usage(PrintStream err) {
+        err.println("usage: java ScheduleTool validate [file...]");
+        err.println("       java ScheduleTool sort name|credits|time [file]");
+        err.println("       java ScheduleTool convert text|json [file]");
+        err.println("       java ScheduleTool credits [file...]");
+        err.println("input files may hold course lines, JSON lines as printed by convert json, or both");
+        return 2;
+    }
+}
@@ -0,0 +1,91 @@
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * A ScheduleTransaction object stages adds and removes on one schedule and applies them atomically,
+ * for example to swap sections: the drop and the add either both happen or neither does.
+ * Nothing changes until commit, which validates the staged courses once against the final state
+ * (see Schedule.apply) and publishes one change event.
+ * Commits lock the schedule, so transactions on one schedule from several threads
+ * are applied one at a time; code that changes the schedule directly at the same time
+ * should synchronize on it too.
+ * A transaction itself is meant to be used by one thread.
+ * Created by Schedule.beginTransaction.
+ */
+public class ScheduleTransaction {
+    private final Schedule schedule;
+    private final Set<Course> added = new LinkedHashSet<>();
+    private final Set<Course> removed = new LinkedHashSet<>();
+    private boolean done;
+
+    ScheduleTransaction(Schedule schedule) {
+        this.schedule = schedule;
+    }
+
+    /**
+     * Stages adding the course
+     * @param course shouldn't be null otherwise, IllegalArgumentException is thrown
+     * @return this transaction
+     */
+    public ScheduleTransaction add(Course course) {
+        checkOpen();
+        if (course == null) throw new IllegalArgumentException();
+        if (!removed.remove(course)) added.add(course);
+        return this;
+    }
+
+    /**
+     * Stages removing the course
+     * @param course shouldn't be null otherwise, IllegalArgumentException is thrown
+     * @return this transaction
+     */
+    public ScheduleTransaction remove(Course course) {
+        checkOpen();
+        if (course == null) throw new IllegalArgumentException();
+        if (!added.remove(course)) removed.add(course);
+        return this;
+    }
+
+    /**
+     * Stages removing the course that is in session at the given day and time now, if any
+     * @param day
+     * @param time
+     * @return this transaction
+     */
+    public ScheduleTransaction remove(Weekday day, Time time) {
+        checkOpen();
+        Course course;
+        synchronized (schedule) {
+            course = schedule.getCourse(day, time);
+        }
+        return course == null ? this : remove(course);
+    }
+
+    /**
+     * Applies the staged changes. The transaction is over afterwards, even if it fails
+     * @throws ScheduleConflictException if the final schedule would have a conflict; nothing is changed
+     * @throws IllegalArgumentException if a removed course is no longer in the schedule; nothing is changed
+     */
+    public void commit() {
+        checkOpen();
+        done = true;
+        ScheduleChangeset changes = new ScheduleChangeset(new ArrayList<>(added), new ArrayList<>(removed));
+        synchronized (schedule) {
+            schedule.apply(changes);
+        }
+    }
+
+    /**
+     * Discards the staged changes and ends the transaction
+     */
+    public void rollback() {
+        done = true;
+        added.clear();
+        removed.clear();
+    }
+
+    private void checkOpen() {
+        if (done) throw new IllegalStateException("transaction is already over");
+    }
+}
@@ -11,9 +11,9 @@ import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.InputStream;
 import java.io.PrintStream;
+import java.nio.file.Paths;
 import java.util.Comparator;
 import java.util.Set;
 
@@ -32,14 +32,25 @@ public class SchedulerGui {
 	// disabling by default because it relies on lots of student's code working
 	private static final boolean SELECTION_ENABLING = false;
 	
+	// the table covers the whole day; this many rows are visible at once,
+	// starting from the first row at or after FIRST_VISIBLE_HOUR
+	private static final int VISIBLE_ROWS = 44;
+	private static final int FIRST_VISIBLE_HOUR = 7;
+	private static final int DEFAULT_RESOLUTION = 15;
+	
 	private JFrame frame;
 	private JTable scheduleTable;
 	private JButton add;
 	private JButton drop;
 	private JButton save;
+	private JButton undo;
+	private JButton redo;
+	private JComboBox<String> resolution;
 	private JLabel credits;
 	private Schedule schedule;
 	private ScheduleTableModel model;
+	private boolean loadedFromFile;
+	private ScheduleFileWatcher watcher;
 	
 	/**
 	 * Constructs a new GUI to display items from the given catalog.
@@ -50,12 +61,17 @@ public class SchedulerGui {
 		setupEvents();
 		performLayout();
 		frame.setVisible(true);
+		watch();
 	}
 	
 	// Constructs all of the graphical components to reside in the window frame
 	private void createComponents() {
-		model = new ScheduleTableModel(schedule);
+		model = ScheduleTableModel.of(schedule, DEFAULT_RESOLUTION);
 		scheduleTable = new JTable(model);
+		// draw each course as one block; the renderer draws the row lines itself
+		scheduleTable.setDefaultRenderer(Object.class, new ScheduleCellRenderer());
+		scheduleTable.setShowHorizontalLines(false);
+		scheduleTable.setIntercellSpacing(new Dimension(1, 0));
 		
 		// set up the table column headings
 		JTableHeader header = scheduleTable.getTableHeader();
@@ -77,6 +93,18 @@ public class SchedulerGui {
 		drop.setMnemonic('D');
 		save = new JButton("Save");
 		save.setMnemonic('S');
+		undo = new JButton("Undo");
+		undo.setMnemonic('U');
+		redo = new JButton("Redo");
+		redo.setMnemonic('R');
+		updateHistoryButtons();
+		resolution = new JComboBox<>();
+		for (int minutes : ScheduleTableModel.RESOLUTIONS) {
+			resolution.addItem(minutes + " min");
+			if (minutes == DEFAULT_RESOLUTION) {
+				resolution.setSelectedIndex(resolution.getItemCount() - 1);
+			}
+		}
 		if (SELECTION_ENABLING) {
 			drop.setEnabled(false);
 		}
@@ -97,6 +125,9 @@ public class SchedulerGui {
 		add.addActionListener(listener);
 		drop.addActionListener(listener);
 		save.addActionListener(listener);
+		undo.addActionListener(listener);
+		redo.addActionListener(listener);
+		resolution.addActionListener(listener);
 		ListSelectionListener selection = new ScheduleSelectionListener();
 		if (SELECTION_ENABLING) {
 			scheduleTable.getSelectionModel().addListSelectionListener(selection);
@@ -126,17 +157,47 @@ public class SchedulerGui {
 		southBottom.add(add);
 		southBottom.add(drop);
 		southBottom.add(save);
+		southBottom.add(undo);
+		southBottom.add(redo);
+		southBottom.add(resolution);
 		south.add(southBottom);
 		
 		// frame's content pane stores overall layout for the window
 		Container contentPane = frame.getContentPane();
-		contentPane.add(scheduleTable.getTableHeader(), BorderLayout.NORTH);
-		contentPane.add(scheduleTable, BorderLayout.CENTER);
+		// the scroll pane only paints the visible rows, so fine resolutions stay cheap
+		JScrollPane scrollPane = new JScrollPane(scheduleTable);
+		Dimension size = scheduleTable.getPreferredSize();
+		size.height = VISIBLE_ROWS * scheduleTable.getRowHeight();
+		scheduleTable.setPreferredScrollableViewportSize(size);
+		contentPane.add(scrollPane, BorderLayout.CENTER);
 		contentPane.add(south, BorderLayout.SOUTH);
 		frame.pack();
+		scrollToHour(FIRST_VISIBLE_HOUR);
 		SchedulerInputPane.center(frame);
 	}
 	
+	// Scrolls the table so that the row of the given hour is at the top.
+	private void scrollToHour(int hour) {
+		int row = hour * 60 / model.getResolution();
+		Rectangle top = scheduleTable.getCellRect(row, 0, true);
+		top.height = scheduleTable.getVisibleRect().height;
+		scheduleTable.scrollRectToVisible(top);
+	}
+	
+	// Handles a change of the row size, keeping the same time of day at the top.
+	private void changeResolution() {
+		int minutes = ScheduleTableModel.RESOLUTIONS[resolution.getSelectedIndex()];
+		int topRow = scheduleTable.rowAtPoint(scheduleTable.getVisibleRect().getLocation());
+		int topMinute = Math.max(0, topRow) * model.getResolution();
+		model.setResolution(minutes);
+		// scroll once the table has been resized to the new number of rows
+		SwingUtilities.invokeLater(() -> {
+			Rectangle top = scheduleTable.getCellRect(topMinute / minutes, 0, true);
+			top.height = scheduleTable.getVisibleRect().height;
+			scheduleTable.scrollRectToVisible(top);
+		});
+	}
+	
 	// Handles the adding of a course to the schedule.
 	private void add() {
 		// pop up an input dialog box to read the course info
@@ -162,9 +223,10 @@ public class SchedulerGui {
 			int duration = pane.getInt("duration (min)");
 
 			// create course and add to schedule
-			Course course = new Course(name, credits, days, startTime, duration);
+			Course course = Course.of(name, credits, days, startTime, duration);
 			model.addCourse(course);
 			updateCredits();
+			updateHistoryButtons();
 		} catch (ScheduleConflictException e) {
 			error(e, "Schedule conflict while trying to add your course.");
 		} catch (IllegalArgumentException e) {
@@ -188,6 +250,29 @@ public class SchedulerGui {
 		
 		model.removeCourse(row, column);
 		updateCredits();
+		updateHistoryButtons();
+	}
+	
+	// Handles undoing the latest add or drop.
+	private void undo() {
+		try {
+			model.undo();
+		} catch (ScheduleConflictException e) {
+			error(e, "Schedule conflict while trying to undo.");
+		}
+		updateCredits();
+		updateHistoryButtons();
+	}
+	
+	// Handles redoing the latest undone add or drop.
+	private void redo() {
+		try {
+			model.redo();
+		} catch (ScheduleConflictException e) {
+			error(e, "Schedule conflict while trying to redo.");
+		}
+		updateCredits();
+		updateHistoryButtons();
 	}
 	
 	// A helper to pop up an error message box when the given exception is thrown.
@@ -207,9 +292,11 @@ public class SchedulerGui {
 	
 	// Loads the user's courses from COURSES_FILE_NAME and puts the
 	// results into the user's current schedule.
+	// An unchanged file is read from its snapshot instead of being parsed again.
 	private void load() {
 		try {
-			schedule = ScheduleIO.load(new FileInputStream(COURSES_FILE_NAME));
+			schedule = ScheduleSnapshotCache.load(Paths.get(COURSES_FILE_NAME));
+			loadedFromFile = true;
 			updateCredits();
 		} catch (Exception e) {
 			// also try loading from within a JAR
@@ -230,6 +317,28 @@ public class SchedulerGui {
 		}
 	}
 	
+	// Reloads the courses of COURSES_FILE_NAME whenever another program changes the file.
+	// Only the added and removed courses are applied, and only their cells are redrawn.
+	private void watch() {
+		if (!loadedFromFile) {
+			return;
+		}
+		try {
+			watcher = new ScheduleFileWatcher(Paths.get(COURSES_FILE_NAME), schedule);
+			watcher.start(task -> SwingUtilities.invokeLater(() -> {
+				try {
+					task.run();
+				} catch (RuntimeException e) {
+					error(e, "An error occurred while reloading your course schedule after it changed.");
+				}
+				updateCredits();
+			}));
+		} catch (Exception e) {
+			// keep working without live reload
+			System.err.println(e);
+		}
+	}
+	
 	// Saves the user's current course schedule into COURSES_FILE_NAME.
 	private void save() {
 		String[] orders = {"By name", "By credits", "By day/time"};
@@ -272,6 +381,12 @@ public class SchedulerGui {
 		credits.setText("Total credits: " + schedule.totalCredits());
 	}
 	
+	// Enables the Undo and Redo buttons only when there is something to undo or redo.
+	private void updateHistoryButtons() {
+		undo.setEnabled(model.canUndo());
+		redo.setEnabled(model.canRedo());
+	}
+	
 	// An action listener to respond to clicks on the buttons in the window.
 	private class ScheduleButtonListener implements ActionListener {
 		/**
@@ -287,6 +402,12 @@ public class SchedulerGui {
 				add();
 			} else if (src == save) {
 				save();
+			} else if (src == undo) {
+				undo();
+			} else if (src == redo) {
+				redo();
+			} else if (src == resolution) {
+				changeResolution();
 			}
 		}
 	}
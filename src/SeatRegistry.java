@@ -0,0 +1,112 @@
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A SeatRegistry object tracks the capacity and the number of enrolled students of course sections.
+ * A section is a Course; equal courses are the same section.
+ * Every section has its own counter that is updated by compare-and-set without any lock,
+ * so enrollments in different sections never wait for each other and enrollments in one
+ * popular section only retry when another thread took a seat in between.
+ * A section without a capacity set has unlimited seats.
+ * Thread-safe.
+ */
+public class SeatRegistry {
+    /** the capacity of a section that has no capacity set */
+    public static final int UNLIMITED = Integer.MAX_VALUE;
+
+    private final ConcurrentHashMap<Course, Seats> sections = new ConcurrentHashMap<>();
+
+    private static class Seats {
+        volatile int capacity;
+        final AtomicInteger enrolled = new AtomicInteger();
+
+        Seats(int capacity) {
+            this.capacity = capacity;
+        }
+    }
+
+    /**
+     * Sets the number of seats of the section. Lowering it below the current enrollment
+     * drops nobody, but no seat can be reserved until enough students leave
+     * @param section
+     * @param capacity number of seats. shouldn't be negative otherwise, IllegalArgumentException is thrown
+     */
+    public void setCapacity(Course section, int capacity) {
+        if (section == null || capacity < 0) throw new IllegalArgumentException();
+        seatsOf(section).capacity = capacity;
+    }
+
+    /**
+     * Returns the number of seats of the section
+     * @param section
+     * @return the capacity, or UNLIMITED if none was set
+     */
+    public int capacity(Course section) {
+        Seats seats = sections.get(section);
+        return seats == null ? UNLIMITED : seats.capacity;
+    }
+
+    /**
+     * Returns the number of students enrolled in the section
+     * @param section
+     * @return the number of reserved seats
+     */
+    public int enrolled(Course section) {
+        Seats seats = sections.get(section);
+        return seats == null ? 0 : seats.enrolled.get();
+    }
+
+    /**
+     * Returns the number of seats left in the section
+     * @param section
+     * @return capacity minus enrollment, never negative
+     */
+    public int available(Course section) {
+        Seats seats = sections.get(section);
+        if (seats == null) return UNLIMITED;
+        return Math.max(0, seats.capacity - seats.enrolled.get());
+    }
+
+    /**
+     * Takes one seat of the section if there is one left
+     * @param section shouldn't be null otherwise, IllegalArgumentException is thrown
+     * @return true if a seat was taken, false if the section is full
+     */
+    public boolean tryReserve(Course section) {
+        if (section == null) throw new IllegalArgumentException();
+        Seats seats = seatsOf(section);
+        AtomicInteger enrolled = seats.enrolled;
+        while (true) {
+            int current = enrolled.get();
+            //a full section is only read, so threads piling onto it don't contend for the counter
+            if (current >= seats.capacity) return false;
+            if (enrolled.compareAndSet(current, current + 1)) return true;
+        }
+    }
+
+    /**
+     * Takes one seat of the section
+     * @param section shouldn't be null otherwise, IllegalArgumentException is thrown
+     * @throws SectionFullException if the section is full
+     */
+    public void reserve(Course section) {
+        if (!tryReserve(section)) throw new SectionFullException(section, capacity(section));
+    }
+
+    /**
+     * Gives back one seat of the section
+     * @param section
+     * @throws IllegalStateException if nobody is enrolled in the section
+     */
+    public void release(Course section) {
+        Seats seats = sections.get(section);
+        if (seats == null || seats.enrolled.getAndUpdate(n -> n > 0 ? n - 1 : n) == 0) {
+            throw new IllegalStateException("nobody is enrolled in " + section);
+        }
+    }
+
+    private Seats seatsOf(Course section) {
+        Seats seats = sections.get(section);  //avoids computeIfAbsent's locking for sections already known
+        return seats != null ? seats : sections.computeIfAbsent(section, c -> new Seats(UNLIMITED));
+    }
+}
@@ -0,0 +1,17 @@
+/**
+ * A SectionFullException object is a runtime exception
+ * that indicates the client has attempted to enroll in a section with no seats left
+ */
+public class SectionFullException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor that takes the full section. Assumes it is not null
+     * Creates an appropriate error message
+     * @param section the full section
+     * @param capacity its number of seats
+     */
+    public SectionFullException(Course section, int capacity){
+        super(section.toString() + " is full (" + capacity + " seats)");
+    }
+}
@@ -1,3 +1,10 @@
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutput;
+import java.io.Serializable;
 import java.util.Comparator;
 
 /**
@@ -9,10 +16,14 @@ import java.util.Comparator;
  * @author Dr. Mikyung Han
  * @version EGR326 SP19 v2 with Javadoc
  */
-public class Time implements Cloneable , Comparable<Time> {
+public class Time implements Cloneable , Comparable<Time>, Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
     private int hour;
     private int minute;
     private boolean isPM;
+    private int minuteOfDay; //cached toMinute(), kept in sync whenever hour, minute or isPM change
 
     /**
      * Constructor for TIime
@@ -31,6 +42,20 @@ public class Time implements Cloneable , Comparable<Time> {
         this.hour = hour;
         this.minute = minute;
         this.isPM = isPM;
+        this.minuteOfDay = (hour % 12 + (isPM ? 12 : 0)) * 60 + minute;
+    }
+
+    /**
+     * fromMinute constructs Time object given minutes since midnight
+     * @param minuteOfDay minutes since midnight, between 0 and 1439
+     * @return Time instance for which toMinute() returns @code{minuteOfDay}
+     */
+    static Time fromMinute(int minuteOfDay) {
+        if (minuteOfDay < 0 || minuteOfDay >= MINUTES_PER_DAY)
+            throw new IllegalArgumentException("minute of day should be between 0-1439 inclusive");
+        Time time = new Time(12, 0, false);
+        time.setMinuteOfDay(minuteOfDay);
+        return time;
     }
 
     /**
@@ -101,12 +126,11 @@ public class Time implements Cloneable , Comparable<Time> {
 
     /**
      * hashCode
-     * @return
+     * @return the minute of the day, which is unique for each distinct time
      */
     @Override
     public int hashCode() {
-        return 65531 * (isPM ? 0 : 1)
-                + 67 * hour + minute;
+        return minuteOfDay;
     }
 
     /**
@@ -150,35 +174,29 @@ public class Time implements Cloneable , Comparable<Time> {
         if(minutesToAdd < 0)
             throw new IllegalArgumentException("minutes cannot be negative");
 
-        //1) update minute accordingly
-        minute += minutesToAdd;
-        int hoursToAdd = minute/60 % 24; //save hours to add
-        minute %= 60; //adjust value that it has valid range for minute
-
-        if(hoursToAdd == 0) return; //no need to update am/pm or hour
-
-        //2) update hour accordingly
-        if (hour == 12) hour = 0; //adjust hour to 0 if it is 12 for calculation
-        hour += hoursToAdd;
-        int numFlip = hour/12; //save num of flip for am/pm
-        hour %= 12; //adjust value so that it has valid range for hour
-        if (hour == 0) hour = 12; //adjust value to 12 since 0 hour doesn't exist
+        //drop whole days first so the sum can't overflow
+        setMinuteOfDay((minuteOfDay + minutesToAdd % MINUTES_PER_DAY) % MINUTES_PER_DAY);
+    }
 
-        //3) update am/pm accordingly
-        if (numFlip%2 == 1) isPM = !isPM; //if the flipping happens odd times then we need to flip am/pm
+    // sets hour, minute and isPM from minutes since midnight
+    private void setMinuteOfDay(int minuteOfDay) {
+        this.minuteOfDay = minuteOfDay;
+        int h = minuteOfDay / 60; //0-23
+        minute = minuteOfDay % 60;
+        isPM = h >= 12;
+        hour = h % 12;
+        if (hour == 0) hour = 12; //0 hour doesn't exist
     }
 
     /**
      * convert this object to minute integer
      *  0,  1,  2,  3,  4,  5,  6,  7,  8,  9, 10, 11 (AM)
      * 12, 13, 14, 15, 16, 17, 18, 19, 20, 21, 22, 23 (PM)
+     * O(1) since the value is cached
      * @return minutes
      */
-    private int toMinute() {
-        int h = hour;
-        if (h == 12) h = 0;
-        if (isPM) h += 12;
-        return h * 60 + minute;
+    int toMinute() {
+        return minuteOfDay;
     }
 
     /**
@@ -190,6 +208,48 @@ public class Time implements Cloneable , Comparable<Time> {
      */
     @Override
     public int compareTo(Time other) {
-        return toMinute() - other.toMinute();
+        return minuteOfDay - other.minuteOfDay;
+    }
+
+    // Serialization: a Time is written as its SerialForm, a version byte and the minute of the day
+
+    private Object writeReplace() {
+        return new SerialForm(minuteOfDay);
+    }
+
+    private void readObject(ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Time is read through its SerialForm");
+    }
+
+    private static final class SerialForm implements Externalizable {
+        private static final long serialVersionUID = 1L;
+        private static final int VERSION = 1;
+
+        private int minuteOfDay;
+
+        public SerialForm() {
+        }
+
+        SerialForm(int minuteOfDay) {
+            this.minuteOfDay = minuteOfDay;
+        }
+
+        @Override
+        public void writeExternal(ObjectOutput out) throws IOException {
+            out.writeByte(VERSION);
+            out.writeShort(minuteOfDay);
+        }
+
+        @Override
+        public void readExternal(ObjectInput in) throws IOException {
+            int version = in.readUnsignedByte();
+            if (version != VERSION) throw new InvalidObjectException("unsupported Time format version " + version);
+            minuteOfDay = in.readUnsignedShort();
+            if (minuteOfDay >= MINUTES_PER_DAY) throw new InvalidObjectException("bad minute of day " + minuteOfDay);
+        }
+
+        private Object readResolve() {
+            return fromMinute(minuteOfDay);
+        }
     }
 }
@@ -0,0 +1,152 @@
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A Waitlists object keeps a first-come first-served waitlist for every full section
+ * and promotes waiting students when seats open up.
+ * Each waitlist is a lock-free queue. Dropping a course only schedules a promotion of its section;
+ * promotions run in batches on the given executor, so a drop returns without waiting for them.
+ * Promoting a student re-runs the conflict check against that student's schedule, and a student
+ * whose schedule now conflicts with the section is taken off the waitlist.
+ * Students are identified by their Schedule objects. A promotion changes the schedule on the
+ * executor's thread while holding the schedule's lock, so code that changes a waiting
+ * student's schedule at the same time should synchronize on it too.
+ * Thread-safe.
+ */
+public class Waitlists {
+    private final SeatRegistry seats;
+    private final Executor executor;
+    private final ConcurrentHashMap<Course, Waitlist> waitlists = new ConcurrentHashMap<>();
+
+    private static class Waitlist {
+        final ConcurrentLinkedDeque<Schedule> students = new ConcurrentLinkedDeque<>();
+        // true while a promotion of this section is queued or running, so that drops share one task
+        final AtomicBoolean promoting = new AtomicBoolean();
+    }
+
+    /**
+     * Constructor of Waitlists
+     * @param seats the seats of all sections. shouldn't be null otherwise, IllegalArgumentException is thrown
+     * @param executor runs the promotions. shouldn't be null otherwise, IllegalArgumentException is thrown
+     */
+    public Waitlists(SeatRegistry seats, Executor executor) {
+        if (seats == null || executor == null) throw new IllegalArgumentException();
+        this.seats = seats;
+        this.executor = executor;
+    }
+
+    /**
+     * Enrolls the student in the section, or puts them at the end of its waitlist if it is full
+     * @param schedule the student's schedule
+     * @param section the section to enroll in
+     * @return true if enrolled, false if waitlisted
+     * @throws ScheduleConflictException if the section conflicts with the student's schedule
+     */
+    public boolean enroll(Schedule schedule, Course section) {
+        synchronized (schedule) {
+            try {
+                schedule.add(section, seats);
+                return true;
+            } catch (SectionFullException e) {
+                waitlistOf(section).students.offerLast(schedule);
+            }
+        }
+        //a seat may have opened up after the student failed to get one but before they were queued
+        if (seats.available(section) > 0) requestPromotion(section);
+        return false;
+    }
+
+    /**
+     * Takes the student off the section's waitlist
+     * @param schedule the student's schedule
+     * @param section
+     * @return true if the student was waiting for the section
+     */
+    public boolean leave(Schedule schedule, Course section) {
+        Waitlist waitlist = waitlists.get(section);
+        return waitlist != null && waitlist.students.removeFirstOccurrence(schedule);
+    }
+
+    /**
+     * Returns the number of students waiting for the section
+     * @param section
+     * @return the waitlist length
+     */
+    public int waiting(Course section) {
+        Waitlist waitlist = waitlists.get(section);
+        return waitlist == null ? 0 : waitlist.students.size();
+    }
+
+    /**
+     * Drops the section from the student's schedule, gives back its seat
+     * and schedules the promotion of the next students waiting for it
+     * @param schedule the student's schedule
+     * @param section the section to drop
+     * @return true if the section was in the schedule
+     */
+    public boolean drop(Schedule schedule, Course section) {
+        boolean removed;
+        synchronized (schedule) {
+            removed = schedule.remove(section, seats);
+        }
+        if (removed) requestPromotion(section);
+        return removed;
+    }
+
+    /**
+     * Drops the course in session at the given day and time, like Schedule.remove(Weekday, Time),
+     * and schedules the promotion of the next students waiting for it
+     * @param schedule the student's schedule
+     * @param day
+     * @param time
+     * @return the dropped course, or null if there was none
+     */
+    public Course drop(Schedule schedule, Weekday day, Time time) {
+        Course section;
+        synchronized (schedule) {
+            section = schedule.getCourse(day, time);
+            if (section == null || !schedule.remove(section, seats)) return null;
+        }
+        requestPromotion(section);
+        return section;
+    }
+
+    private Waitlist waitlistOf(Course section) {
+        Waitlist waitlist = waitlists.get(section);
+        return waitlist != null ? waitlist : waitlists.computeIfAbsent(section, c -> new Waitlist());
+    }
+
+    // Queues one promotion task for the section unless one is already queued
+    private void requestPromotion(Course section) {
+        Waitlist waitlist = waitlists.get(section);
+        if (waitlist != null && !waitlist.students.isEmpty() && waitlist.promoting.compareAndSet(false, true)) {
+            executor.execute(() -> promote(section, waitlist));
+        }
+    }
+
+    // Moves students from the head of the waitlist into the section while it has seats
+    private void promote(Course section, Waitlist waitlist) {
+        try {
+            Schedule student;
+            while (seats.available(section) > 0 && (student = waitlist.students.pollFirst()) != null) {
+                synchronized (student) {
+                    try {
+                        student.add(section, seats);
+                    } catch (ScheduleConflictException e) {
+                        //the student's schedule changed since they joined the waitlist; skip them
+                    } catch (SectionFullException e) {
+                        //someone else took the seat first; the student keeps their place
+                        waitlist.students.offerFirst(student);
+                        break;
+                    }
+                }
+            }
+        } finally {
+            waitlist.promoting.set(false);
+        }
+        //a drop during the last check found this task still running; run again for it
+        if (seats.available(section) > 0) requestPromotion(section);
+    }
+}
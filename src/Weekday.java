@@ -25,18 +25,39 @@ public enum Weekday {
         if(str == null || str.length() < 1)
             throw new IllegalArgumentException();
 
-        if(str.equalsIgnoreCase("Monday") || str.equalsIgnoreCase("M")){
+        if(str.length() == 1){
+            return fromShortName(str.charAt(0));
+        }
+
+        if(str.equalsIgnoreCase("Monday")){
             return MONDAY;
-        } else if (str.equalsIgnoreCase("Tuesday") || str.equalsIgnoreCase("T")){
+        } else if (str.equalsIgnoreCase("Tuesday")){
             return TUESDAY;
-        } else if (str.equalsIgnoreCase("Wednesday") || str.equalsIgnoreCase("W")){
+        } else if (str.equalsIgnoreCase("Wednesday")){
             return WEDNESDAY;
-        } else if (str.equalsIgnoreCase("Thursday") || str.equalsIgnoreCase("R")){
+        } else if (str.equalsIgnoreCase("Thursday")){
             return THURSDAY;
-        } else if (str.equalsIgnoreCase("Friday") || str.equalsIgnoreCase("F")){
+        } else if (str.equalsIgnoreCase("Friday")){
             return FRIDAY;
         } else {
             throw new IllegalArgumentException();
         }
     }
+
+    /**
+     * Converts a short day name into a Weekday without allocating
+     * @param shortName one of M, T, W, R, F (case insensitive)
+     * @return the matching Weekday
+     * @throws IllegalArgumentException if shortName is not a short day name
+     */
+    public static Weekday fromShortName(char shortName){
+        switch (Character.toUpperCase(shortName)) {
+            case 'M': return MONDAY;
+            case 'T': return TUESDAY;
+            case 'W': return WEDNESDAY;
+            case 'R': return THURSDAY;
+            case 'F': return FRIDAY;
+            default: throw new IllegalArgumentException();
+        }
+    }
 }
@@ -0,0 +1,56 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.*;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Tests for CalendarExporter
+ */
+public class CalendarExporterTest {
+
+    // Monday, September 7 2026
+    private static final LocalDate TERM_START = LocalDate.of(2026, 9, 7);
+
+    private static Schedule scheduleHelper(){
+        Schedule s = new Schedule();
+        s.add(new Course("EGR 222", 3, CourseInstructorTest.toEnumSet("MWF"), new Time(5, 0, true), 60));
+        s.add(new Course("EGR 101", 4, CourseInstructorTest.toEnumSet("TR"), new Time(9, 0, false), 75));
+        return s;
+    }
+
+    @Test
+    public void occurrencesTest() {
+        CalendarExporter exporter = new CalendarExporter(TERM_START, 2, Arrays.asList(TERM_START.plusDays(2)));
+        List<CalendarExporter.Occurrence> occurrences = exporter.occurrences(scheduleHelper()).collect(Collectors.toList());
+        //5 meetings a week for 2 weeks, minus the Wednesday holiday
+        Assert.assertEquals(9, occurrences.size());
+        Assert.assertEquals(LocalDateTime.of(2026, 9, 7, 17, 0), occurrences.get(0).getStart());
+        Assert.assertEquals(LocalDateTime.of(2026, 9, 8, 10, 15), occurrences.get(1).getEnd());
+        Assert.assertEquals(LocalDate.of(2026, 9, 10), occurrences.get(2).getStart().toLocalDate());
+        for(int i = 1; i < occurrences.size(); i++){
+            Assert.assertTrue(occurrences.get(i - 1).getStart().isBefore(occurrences.get(i).getStart()));
+        }
+    }
+
+    @Test
+    public void exportTest() throws IOException {
+        Clock clock = Clock.fixed(Instant.parse("2026-08-01T12:00:00Z"), ZoneOffset.UTC);
+        CalendarExporter exporter = new CalendarExporter(TERM_START, 1, new ArrayList<>(), clock);
+        Schedule s = new Schedule();
+        s.add(new Course("EGR 222, Section 1; Lab", 3, CourseInstructorTest.toEnumSet("M"), new Time(11, 30, true), 60));
+        StringWriter out = new StringWriter();
+        exporter.export(s, out);
+
+        String ics = out.toString();
+        Assert.assertTrue(ics.startsWith("BEGIN:VCALENDAR\r\nVERSION:2.0\r\n"));
+        Assert.assertTrue(ics.endsWith("END:VEVENT\r\nEND:VCALENDAR\r\n"));
+        Assert.assertTrue(ics.contains("DTSTAMP:20260801T120000Z\r\n"));
+        Assert.assertTrue(ics.contains("DTSTART:20260907T233000\r\nDTEND:20260908T003000\r\n"));
+        Assert.assertTrue(ics.contains("SUMMARY:EGR 222\\, SECTION 1\\; LAB\r\n"));
+        Assert.assertEquals(1, ics.split("BEGIN:VEVENT", -1).length - 1);
+    }
+}
@@ -0,0 +1,145 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Tests for CourseCatalog
+ */
+public class CourseCatalogTest {
+
+    private static final String[] courseStrings = {
+            "EGR 222,3,TR,11:00 AM,75",
+            "EGR 221,3,TR,09:30 AM,75",
+            "EGR 226,4,TR,01:00 PM,90",
+            "EGR 227,3,MWF,10:00 AM,50",
+            "EGR 326,3,TR,10:00 AM,75",
+            "MTH 245,4,MTWR,10:00 AM,50",
+            "EGR 2,1,TR,03:00 PM,60",
+    };
+
+    private static List<Course> buildCoursesHelper(String[] courseStrings){
+        List<Course> courses = new ArrayList<>();
+        for(String str : courseStrings){
+            courses.add(ScheduleIO.parseCourse(str));
+        }
+        return courses;
+    }
+
+    private static List<String> names(CourseCatalog.Query query){
+        return query.stream().map(Course::getName).collect(Collectors.toList());
+    }
+
+    @Test
+    public void prefixTest(){
+        CourseCatalog catalog = new CourseCatalog(buildCoursesHelper(courseStrings));
+        Assert.assertEquals(7, catalog.size());
+        Assert.assertEquals(Arrays.asList("EGR 2", "EGR 221", "EGR 222", "EGR 226", "EGR 227"),
+                names(catalog.query().namePrefix("egr 2")));
+        Assert.assertEquals(Arrays.asList("MTH 245"), names(catalog.query().namePrefix("MTH")));
+        Assert.assertEquals(0, catalog.withNamePrefix("CS").count());
+        Assert.assertEquals(7, catalog.withNamePrefix("").count());
+    }
+
+    @Test
+    public void combinedQueryTest(){
+        CourseCatalog catalog = new CourseCatalog(buildCoursesHelper(courseStrings));
+        CourseCatalog.Query query = catalog.query()
+                .namePrefix("EGR 2")
+                .days(CourseInstructorTest.toEnumSet("TR"))
+                .startingFrom(Time.fromString("10:00 AM"));
+        Assert.assertEquals(Arrays.asList("EGR 2", "EGR 222", "EGR 226"), names(query));
+
+        query = catalog.query()
+                .meetingOn(CourseInstructorTest.toEnumSet("T"))
+                .startingFrom(Time.fromString("10:00 AM"))
+                .startingBefore(Time.fromString("11:00 AM"));
+        Assert.assertEquals(Arrays.asList("EGR 326", "MTH 245"), names(query));
+    }
+
+    @Test
+    public void randomQueryTest(){
+        Random random = new Random(222);
+        String[] days = {"M", "T", "W", "R", "F", "MWF", "TR", "MW", "MTWRF"};
+        List<Course> courses = new ArrayList<>();
+        for(int i = 0; i < 5000; i++){
+            String name = "EGR " + random.nextInt(1000);
+            Time start = new Time(random.nextInt(12) + 1, random.nextInt(60), random.nextBoolean());
+            courses.add(new Course(name, random.nextInt(5) + 1,
+                    CourseInstructorTest.toEnumSet(days[random.nextInt(days.length)]), start, 50));
+        }
+        CourseCatalog catalog = new CourseCatalog(courses);
+
+        for(int i = 0; i < 200; i++){
+            String prefix = "EGR " + random.nextInt(100);
+            Set<Weekday> day = CourseInstructorTest.toEnumSet(days[random.nextInt(days.length)]);
+            Time from = new Time(random.nextInt(12) + 1, 0, random.nextBoolean());
+
+            List<Course> actual = catalog.query().namePrefix(prefix).meetingOn(day).startingFrom(from)
+                    .stream().collect(Collectors.toList());
+            List<Course> expected = courses.stream()
+                    .filter(c -> c.getName().startsWith(prefix))
+                    .filter(c -> c.getDaysOffered().containsAll(day))
+                    .filter(c -> c.getStartTime().compareTo(from) >= 0)
+                    .sorted(new CourseNameComparator().thenComparing(new CourseTimeComparator()))
+                    .collect(Collectors.toList());
+            Assert.assertEquals(expected.size(), actual.size());
+            Assert.assertEquals(new HashSet<>(expected), new HashSet<>(actual));
+            for(int j = 1; j < actual.size(); j++){
+                Assert.assertTrue(actual.get(j - 1).getName().compareTo(actual.get(j).getName()) <= 0);
+            }
+        }
+    }
+
+    @Test
+    public void endTimeQueryTest(){
+        CourseCatalog catalog = new CourseCatalog(buildCoursesHelper(courseStrings));
+        //EGR 221 ends at 10:45 AM, EGR 227 and MTH 245 at 10:50 AM
+        Assert.assertEquals(Arrays.asList("EGR 221", "EGR 227", "MTH 245"),
+                names(catalog.query().endingBefore(Time.fromString("10:50 AM"))));
+        Assert.assertEquals(Arrays.asList("EGR 221"),
+                names(catalog.query().endingBefore(Time.fromString("10:49 AM"))));
+        Assert.assertEquals(Arrays.asList("EGR 2", "EGR 226"),
+                names(catalog.query().endingAfter(Time.fromString("12:15 PM"))));
+
+        //in session at some time from 10:45 AM to 11:00 AM
+        Assert.assertEquals(Arrays.asList("EGR 227", "EGR 326", "MTH 245"),
+                names(catalog.query().during(Time.fromString("10:45 AM"), Time.fromString("11:00 AM"))));
+        Assert.assertEquals(Arrays.asList("EGR 326"),
+                names(catalog.query().namePrefix("EGR").meetingOn(CourseInstructorTest.toEnumSet("T"))
+                        .during(Time.fromString("10:45 AM"), Time.fromString("11:00 AM"))));
+    }
+
+    @Test
+    public void randomDuringQueryTest(){
+        Random random = new Random(221);
+        List<Course> courses = new ArrayList<>();
+        for(int i = 0; i < 5000; i++){
+            courses.add(new Course("EGR " + random.nextInt(1000), random.nextInt(5) + 1,
+                    CourseInstructorTest.toEnumSet("MWF"), Time.fromMinute(random.nextInt(20 * 60)), 1 + random.nextInt(180)));
+        }
+        CourseCatalog catalog = new CourseCatalog(courses);
+
+        for(int i = 0; i < 200; i++){
+            int from = random.nextInt(24 * 60 - 30);
+            int to = Math.min(24 * 60 - 1, from + 1 + random.nextInt(i % 2 == 0 ? 5 : 600));
+            Set<Course> expected = courses.stream()
+                    .filter(c -> c.getStartMinute() < to && c.getStartMinute() + c.getDuration() > from)
+                    .collect(Collectors.toSet());
+            List<Course> actual = catalog.query().during(Time.fromMinute(from), Time.fromMinute(to))
+                    .stream().collect(Collectors.toList());
+            Assert.assertEquals(expected.size(), actual.size());
+            Assert.assertEquals(expected, new HashSet<>(actual));
+        }
+    }
+
+    @Test
+    public void constructorNegativeTest(){
+        try{
+            new CourseCatalog(null);
+            Assert.fail();
+        }catch(IllegalArgumentException e){
+        }
+    }
+}
@@ -144,4 +144,30 @@ public class CourseInstructorTest {
         Assert.assertTrue(courses.contains(c2)); //should return true for c2 as well
         Assert.assertEquals(c1.hashCode(), c2.hashCode());
     }
+
+    @Test
+    public void ofTest(){
+        Set<Weekday> days =  EnumSet.of(Weekday.MONDAY, Weekday.WEDNESDAY, Weekday.FRIDAY);
+        Course c1 = Course.of("egr 222", 3, days, new Time (5, 0, true), 60);
+        Course c2 = Course.of("EGR 222", 3, days, new Time (5, 0, true), 60);
+        Course c3 = Course.of("EGR 222", 3, days, new Time (5, 0, true), 50);
+
+        Assert.assertSame(c1, c2);
+        Assert.assertNotSame(c1, c3);
+        Assert.assertSame(c1, CourseInterner.shared().intern(new Course("EGR 222", 3, days, new Time (5, 0, true), 60)));
+    }
+
+    @Test
+    public void fingerprintTest(){
+        Set<Weekday> days =  EnumSet.of(Weekday.MONDAY, Weekday.WEDNESDAY, Weekday.FRIDAY);
+        Course c1 = new Course("EGR 222", 3, days, new Time (5, 0, true), 60);
+        Course c2 = new Course("egr 222", 3, EnumSet.copyOf(days), new Time (5, 0, true), 60);
+        Assert.assertEquals(c1.getFingerprint(), c2.getFingerprint());
+
+        Assert.assertNotEquals(c1.getFingerprint(), new Course("EGR 223", 3, days, new Time (5, 0, true), 60).getFingerprint());
+        Assert.assertNotEquals(c1.getFingerprint(), new Course("EGR 222", 4, days, new Time (5, 0, true), 60).getFingerprint());
+        Assert.assertNotEquals(c1.getFingerprint(), new Course("EGR 222", 3, EnumSet.of(Weekday.MONDAY), new Time (5, 0, true), 60).getFingerprint());
+        Assert.assertNotEquals(c1.getFingerprint(), new Course("EGR 222", 3, days, new Time (5, 1, true), 60).getFingerprint());
+        Assert.assertNotEquals(c1.getFingerprint(), new Course("EGR 222", 3, days, new Time (5, 0, true), 61).getFingerprint());
+    }
 }
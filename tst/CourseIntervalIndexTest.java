@@ -0,0 +1,90 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Tests for CourseIntervalIndex and Schedule.coursesDuring
+ */
+public class CourseIntervalIndexTest {
+
+    private static List<String> names(java.util.stream.Stream<Course> courses){
+        return courses.map(Course::getName).collect(Collectors.toList());
+    }
+
+    @Test
+    public void coursesDuringTest(){
+        CourseIntervalIndex index = new CourseIntervalIndex(Arrays.asList(
+                ScheduleIO.parseCourse("EGR 111,3,MWF,09:00 AM,60"),
+                ScheduleIO.parseCourse("EGR 222,3,MWF,09:30 AM,120"),   //overlaps EGR 111
+                ScheduleIO.parseCourse("EGR 333,3,TR,10:00 AM,90"),
+                ScheduleIO.parseCourse("EGR 444,3,W,02:00 PM,60"),
+                ScheduleIO.parseCourse("EGR 555,3,F,01:00 PM,60")));
+        Assert.assertEquals(5, index.size());
+
+        Time from = Time.fromString("10:00 AM");
+        Time to = Time.fromString("02:00 PM");
+        Assert.assertEquals(Arrays.asList("EGR 222"), names(index.coursesDuring(Weekday.MONDAY, from, to)));
+        Assert.assertEquals(Arrays.asList("EGR 222", "EGR 555"),
+                names(index.coursesDuring(CourseInstructorTest.toEnumSet("MWF"), from, to)));
+        Assert.assertEquals(Arrays.asList("EGR 111", "EGR 222"),
+                names(index.coursesAt(Weekday.FRIDAY, Time.fromString("09:59 AM"))));
+
+        Assert.assertTrue(index.remove(ScheduleIO.parseCourse("EGR 222,3,MWF,09:30 AM,120")));
+        Assert.assertFalse(index.remove(ScheduleIO.parseCourse("EGR 222,3,MWF,09:30 AM,120")));
+        Assert.assertEquals(4, index.size());
+        Assert.assertEquals(Arrays.asList("EGR 555"),
+                names(index.coursesDuring(CourseInstructorTest.toEnumSet("MWF"), from, to)));
+    }
+
+    @Test
+    public void randomCoursesDuringTest(){
+        Random random = new Random(326);
+        String[] days = {"M", "T", "W", "R", "F", "MWF", "TR"};
+        List<Course> courses = new ArrayList<>();
+        CourseIntervalIndex index = new CourseIntervalIndex();
+        for(int i = 0; i < 3000; i++){
+            Course c = new Course("EGR " + i, 3, CourseInstructorTest.toEnumSet(days[random.nextInt(days.length)]),
+                    new Time(random.nextInt(12) + 1, random.nextInt(60), random.nextBoolean()), random.nextInt(180) + 1);
+            courses.add(c);
+            index.add(c);
+            if(random.nextInt(4) == 0){
+                Course removed = courses.remove(random.nextInt(courses.size()));
+                Assert.assertTrue(index.remove(removed));
+            }
+        }
+        Assert.assertEquals(courses.size(), index.size());
+
+        for(int i = 0; i < 200; i++){
+            Weekday day = Weekday.values()[random.nextInt(5)];
+            Time from = new Time(random.nextInt(12) + 1, random.nextInt(60), random.nextBoolean());
+            Time to = from.clone();
+            to.shift(random.nextInt(240) + 1);
+            int lo = from.toMinute();
+            int hi = to.toMinute();
+            Set<Course> expected = courses.stream()
+                    .filter(c -> c.getDaysOffered().contains(day))
+                    .filter(c -> c.getStartMinute() < hi && c.getStartMinute() + c.getDuration() > lo)
+                    .collect(Collectors.toSet());
+            List<Course> actual = index.coursesDuring(day, from, to).collect(Collectors.toList());
+            Assert.assertEquals(expected, new HashSet<>(actual));
+            Assert.assertEquals(expected.size(), actual.size());
+        }
+    }
+
+    @Test
+    public void scheduleCoursesDuringTest(){
+        Schedule s = new Schedule();
+        s.add(ScheduleIO.parseCourse("EGR 111,3,MWF,09:00 AM,60"));
+        s.add(ScheduleIO.parseCourse("EGR 222,3,MWF,10:00 AM,120"));
+        s.add(ScheduleIO.parseCourse("EGR 333,3,TR,10:00 AM,90"));
+        s.add(ScheduleIO.parseCourse("EGR 444,3,W,02:00 PM,60"));
+
+        Assert.assertEquals(Arrays.asList("EGR 111", "EGR 222"),
+                names(s.coursesDuring(Weekday.MONDAY, Time.fromString("09:59 AM"), Time.fromString("02:00 PM"))));
+        Assert.assertEquals(Arrays.asList("EGR 222", "EGR 444"),
+                names(s.coursesDuring(CourseInstructorTest.toEnumSet("MW"), Time.fromString("11:59 AM"), Time.fromString("02:01 PM"))));
+        Assert.assertEquals(0, s.coursesDuring(Weekday.FRIDAY, Time.fromString("12:00 PM"), Time.fromString("02:00 PM")).count());
+    }
+}
@@ -0,0 +1,56 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.*;
+
+/**
+ * Tests for DaySet
+ */
+public class DaySetTest {
+
+    @Test
+    public void fromShortNamesTest(){
+        DaySet days = DaySet.fromShortNames("MWF");
+        Assert.assertEquals(3, days.size());
+        Assert.assertTrue(days.contains(Weekday.MONDAY));
+        Assert.assertFalse(days.contains(Weekday.TUESDAY));
+        Assert.assertEquals("MWF", days.toShortNames());
+        Assert.assertEquals(Arrays.asList(Weekday.MONDAY, Weekday.WEDNESDAY, Weekday.FRIDAY), new ArrayList<>(days));
+        Assert.assertSame(days, DaySet.fromShortNames("fwm"));
+        Assert.assertSame(DaySet.fromMask(0), DaySet.fromShortNames(""));
+    }
+
+    @Test
+    public void fromShortNamesNegativeTest(){
+        try{
+            DaySet.fromShortNames("MSF");
+            Assert.fail();
+        }catch(IllegalArgumentException e){
+        }
+    }
+
+    @Test
+    public void setAdapterTest(){
+        Set<Weekday> enumSet = EnumSet.of(Weekday.TUESDAY, Weekday.THURSDAY);
+        DaySet days = DaySet.copyOf(enumSet);
+        Assert.assertEquals(enumSet, days);
+        Assert.assertEquals(days, enumSet);
+        Assert.assertEquals(enumSet.hashCode(), days.hashCode());
+        Assert.assertSame(days, DaySet.of(Weekday.THURSDAY, Weekday.TUESDAY));
+        Assert.assertTrue(enumSet.containsAll(days));
+        try{
+            days.add(Weekday.MONDAY);
+            Assert.fail();
+        }catch(UnsupportedOperationException e){
+        }
+    }
+
+    @Test
+    public void intersectsTest(){
+        Assert.assertTrue(DaySet.fromShortNames("MWF").intersects(DaySet.fromShortNames("RF")));
+        Assert.assertFalse(DaySet.fromShortNames("MWF").intersects(DaySet.fromShortNames("TR")));
+        Assert.assertFalse(DaySet.fromMask(0).intersects(DaySet.fromMask(31)));
+        Assert.assertTrue(DaySet.fromMask(31).containsAll(DaySet.fromShortNames("TR")));
+        Assert.assertFalse(DaySet.fromShortNames("TR").containsAll(DaySet.fromShortNames("MTR")));
+    }
+}
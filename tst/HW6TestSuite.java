@@ -9,7 +9,21 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({
         CourseInstructorTest.class,
         TimeInstructorTest.class,
-        WeekdayInstructorTest.class
+        WeekdayInstructorTest.class,
+        CourseCatalogTest.class,
+        DaySetTest.class,
+        CourseIntervalIndexTest.class,
+        ParallelScheduleLoaderTest.class,
+        LazyCourseFileTest.class,
+        CalendarExporterTest.class,
+        ScheduleTableModelTest.class,
+        SeatRegistryTest.class,
+        WaitlistsTest.class,
+        SerializationTest.class,
+        ScheduleSnapshotCacheTest.class,
+        ScheduleFileWatcherTest.class,
+        ScheduleToolTest.class,
+        ScheduleImporterTest.class
 })
 public class HW6TestSuite {
 }
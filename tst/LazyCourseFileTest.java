@@ -0,0 +1,68 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+
+/**
+ * Tests for LazyCourseFile
+ */
+public class LazyCourseFileTest {
+
+    private static Path writeHelper(String text) throws IOException {
+        Path file = Files.createTempFile("courses", ".txt");
+        file.toFile().deleteOnExit();
+        LazyCourseFile.sidecarOf(file).toFile().deleteOnExit();
+        Files.write(file, text.getBytes());
+        Files.deleteIfExists(LazyCourseFile.sidecarOf(file));
+        return file;
+    }
+
+    @Test
+    public void getTest() throws IOException {
+        Path file = writeHelper("EGR 222,3,MWF,05:00 PM,60\n\nEGR 101,4,TR,09:00 AM,75\r\nMATH 121,4,MTWRF,11:00 AM,50");
+        try(LazyCourseFile courses = LazyCourseFile.open(file, 2)){
+            Assert.assertEquals(3, courses.size());
+            Assert.assertEquals(ScheduleIO.load(new FileInputStream(file.toFile())).getAllCourses(), courses);
+            Assert.assertEquals("EGR 101", courses.get(1).getName());
+            Assert.assertSame(courses.get(2), courses.get(2));
+        }
+        Assert.assertTrue(Files.exists(LazyCourseFile.sidecarOf(file)));
+    }
+
+    @Test
+    public void sidecarTest() throws IOException {
+        Path file = writeHelper("EGR 222,3,MWF,05:00 PM,60\nEGR 101,4,TR,09:00 AM,75\n");
+        LazyCourseFile.open(file).close();
+        try(LazyCourseFile courses = LazyCourseFile.open(file)){
+            Assert.assertEquals(2, courses.size());
+            Assert.assertEquals("EGR 101", courses.get(1).getName());
+        }
+
+        //a changed file must not be read through its old index
+        Files.write(file, "EGR 101,4,TR,09:00 AM,75\n".getBytes());
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 1000));
+        try(LazyCourseFile courses = LazyCourseFile.open(file)){
+            Assert.assertEquals(1, courses.size());
+            Assert.assertEquals("EGR 101", courses.get(0).getName());
+        }
+    }
+
+    @Test
+    public void badRecordTest() throws IOException {
+        Path file = writeHelper("EGR 222,3,MWF,05:00 PM,60\nEGR 101,four,TR,09:00 AM,75\n");
+        try(LazyCourseFile courses = LazyCourseFile.open(file)){
+            Assert.assertEquals("EGR 222", courses.get(0).getName());
+            try{
+                courses.get(1);
+                Assert.fail();
+            }catch(InputMismatchException e){
+                Assert.assertTrue(e.getMessage(), e.getMessage().contains("record 1"));
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+import java.util.*;
+
+/**
+ * A deliberately simple schedule used as a correctness oracle for Schedule in scale tests.
+ * Every operation scans the whole list, checking each course with Course.conflictsWith and Course.contains.
+ */
+public class NaiveSchedule {
+    private final List<Course> courses = new ArrayList<>();
+
+    /**
+     * Adds the course unless it conflicts with one already here
+     * @return the first course (in insertion order) it conflicts with, or null if it was added
+     */
+    public Course add(Course course){
+        for(Course c : courses){
+            if(c.conflictsWith(course)) return c;
+        }
+        courses.add(course);
+        return null;
+    }
+
+    public Course getCourse(Weekday day, Time time){
+        for(Course c : courses){
+            if(c.contains(day, time)) return c;
+        }
+        return null;
+    }
+
+    public void remove(Weekday day, Time time){
+        courses.removeIf(c -> c.contains(day, time));
+    }
+
+    public List<Course> getAllCourses(){
+        return new ArrayList<>(courses);
+    }
+}
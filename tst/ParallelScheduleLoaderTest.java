@@ -0,0 +1,112 @@
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Tests for ParallelScheduleLoader
+ */
+public class ParallelScheduleLoaderTest {
+
+    private static final ForkJoinPool pool = new ForkJoinPool(4);
+
+    //deleted with everything in it after each test
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    // one 10 minute course every 15 minutes on each day, with blank lines and CRLF mixed in
+    private static List<String> linesHelper(){
+        List<String> lines = new ArrayList<>();
+        String[] days = {"M", "T", "W", "R", "F"};
+        for(String day : days){
+            for(int minute = 0; minute < 24 * 60; minute += 15){
+                Time start = new Time(12, 0, false);
+                start.shift(minute);
+                lines.add("EGR " + day + minute + ",3," + day + "," + start + ",10" + (minute % 45 == 0 ? "\r" : ""));
+                if(minute % 100 == 0) lines.add("");
+            }
+        }
+        return lines;
+    }
+
+    private Path writeHelper(List<String> lines) throws IOException {
+        Path file = temp.newFile().toPath();
+        Files.write(file, lines);
+        return file;
+    }
+
+    @Test
+    public void loadParallelTest() throws IOException {
+        Path file = writeHelper(linesHelper());
+        Schedule expected = ScheduleIO.load(new FileInputStream(file.toFile()));
+        Schedule actual = new ParallelScheduleLoader(file, pool, 64).load();
+        Assert.assertEquals(5 * 96, actual.size());
+        Assert.assertEquals(expected.getAllCourses(), actual.getAllCourses());
+        Assert.assertTrue(expected.diff(actual).isEmpty());
+        Assert.assertEquals(actual.getAllCourses(), ScheduleIO.loadParallel(file).getAllCourses());
+    }
+
+    @Test
+    public void lineNumberTest() throws IOException {
+        List<String> lines = linesHelper();
+        lines.set(300, "EGR 222,three,MWF,05:00 PM,60");
+        Path file = writeHelper(lines);
+        try{
+            new ParallelScheduleLoader(file, pool, 64).load();
+            Assert.fail();
+        }catch(InputMismatchException e){
+            Assert.assertTrue(e.getMessage(), e.getMessage().startsWith("line 301:"));
+        }
+    }
+
+    @Test
+    public void conflictTest() throws IOException {
+        List<String> lines = linesHelper();
+        lines.add(200, "EGR 999,3,TR,05:05 PM,30");
+        Path file = writeHelper(lines);
+        try{
+            new ParallelScheduleLoader(file, pool, 64).load();
+            Assert.fail();
+        }catch(ScheduleConflictException e){
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("line 201: EGR 999"));
+        }
+    }
+
+    @Test
+    public void sameResultAsLoadTest() throws IOException {
+        //a course conflicting with one in session that isn't the one ending last, past midnight and not
+        String[][] files = {
+                {"EGR 1,3,M,11:00 PM,60", "EGR 3,3,M,11:10 PM,20", "EGR 4,3,M,11:20 PM,20"},
+                {"EGR 1,3,M,09:00 AM,120", "EGR 2,3,MW,09:30 AM,10", "EGR 3,3,W,09:35 AM,30", "EGR 4,3,M,09:50 AM,20"},
+                {"EGR 1,3,M,10:00 AM,30", "EGR 2,3,T,10:00 AM,30", "EGR 3,3,M,10:30 AM,30", "EGR 4,3,M,11:59 PM,1"},
+                {"EGR 4,3,F,09:00 AM,60", "EGR 2,3,F,08:00 AM,90", "EGR 1,3,F,08:30 AM,15"},
+                {"EGR 1,3,R,09:00 AM,60", "EGR 2,3,R,12:00 PM,60", "EGR 3,3,R,09:30 AM,10", "EGR 4,3,R,08:00 AM,180"},
+        };
+        for(String[] lines : files){
+            Path file = writeHelper(Arrays.asList(lines));
+            String expected = null;
+            Schedule loaded = null;
+            try{
+                loaded = ScheduleIO.load(new FileInputStream(file.toFile()));
+            }catch(ScheduleConflictException e){
+                //the course of the line that failed to load
+                expected = e.getMessage().substring(e.getMessage().indexOf(" and ") + 5);
+            }
+            try{
+                Schedule actual = new ParallelScheduleLoader(file, pool, 64).load();
+                Assert.assertNull(Arrays.toString(lines), expected);
+                Assert.assertEquals(loaded.getAllCourses(), actual.getAllCourses());
+            }catch(ScheduleConflictException e){
+                Assert.assertNotNull(Arrays.toString(lines), expected);
+                Assert.assertTrue(e.getMessage(), e.getMessage().endsWith(expected));
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+
+/**
+ * Scale tests, kept out of HW6TestSuite since they take seconds rather than milliseconds.
+ * Set -Degr222.scale to change the number of generated courses.
+ */
+
+@RunWith(Suite.class)
+@Suite.SuiteClasses({
+        ScheduleScaleTest.class
+})
+public class ScaleTestSuite {
+}
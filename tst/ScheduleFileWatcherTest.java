@@ -0,0 +1,117 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for ScheduleFileWatcher
+ */
+public class ScheduleFileWatcherTest {
+
+    private static Path writeHelper(String text) throws IOException {
+        Path file = Files.createTempFile("courses", ".txt");
+        file.toFile().deleteOnExit();
+        Files.write(file, text.getBytes());
+        return file;
+    }
+
+    private static Schedule loadHelper(Path file) throws IOException {
+        try(FileInputStream in = new FileInputStream(file.toFile())){
+            return ScheduleIO.load(in);
+        }
+    }
+
+    @Test
+    public void readChangesTest() throws IOException {
+        Path file = writeHelper("EGR 222,3,MWF,05:00 PM,60\nEGR 101,4,TR,09:00 AM,75\n\nMATH 121,4,MTWRF,11:00 AM,50\n");
+        Schedule schedule = loadHelper(file);
+        ScheduleFileWatcher watcher = new ScheduleFileWatcher(file, schedule);
+        Assert.assertTrue(watcher.readChanges().isEmpty());
+
+        //one course edited, one only reformatted, one moved to another line
+        Files.write(file, "MATH 121,4,MTWRF,11:00 AM,50\nEGR 222,3,MWF,05:00 PM,60,ROOM 101\nEGR 101,4,TR,01:00 PM,75\n".getBytes());
+        ScheduleChangeset changes = watcher.readChanges();
+        Assert.assertEquals(Arrays.asList(ScheduleIO.parseCourse("EGR 101,4,TR,01:00 PM,75")), changes.getAdded());
+        Assert.assertEquals(Arrays.asList(ScheduleIO.parseCourse("EGR 101,4,TR,09:00 AM,75")), changes.getRemoved());
+
+        List<ScheduleEvent> events = new ArrayList<>();
+        schedule.addScheduleListener(events::add);
+        watcher.apply(changes);
+        Assert.assertEquals(new HashSet<>(loadHelper(file).getAllCourses()), new HashSet<>(schedule.getAllCourses()));
+        Assert.assertEquals(1, events.size());
+        Assert.assertEquals(changes.getAdded(), new ArrayList<>(events.get(0).getAdded()));
+        Assert.assertEquals(changes.getRemoved(), new ArrayList<>(events.get(0).getRemoved()));
+        Assert.assertTrue(watcher.readChanges().isEmpty());
+    }
+
+    @Test
+    public void applyTest() throws IOException {
+        Path file = writeHelper("EGR 222,3,MWF,05:00 PM,60\nEGR 101,4,TR,09:00 AM,75\n");
+        Schedule schedule = loadHelper(file);
+        ScheduleFileWatcher watcher = new ScheduleFileWatcher(file, schedule);
+
+        //the user already dropped EGR 101 by hand; the file now drops it too and adds EGR 333
+        schedule.remove("EGR 101");
+        Files.write(file, "EGR 222,3,MWF,05:00 PM,60\nEGR 333,3,TR,09:00 AM,75\n".getBytes());
+        watcher.apply(watcher.readChanges());
+        Assert.assertEquals(2, schedule.size());
+        Assert.assertTrue(schedule.contains("EGR 333"));
+
+        //a conflicting edit leaves the schedule as it was
+        Files.write(file, "EGR 222,3,MWF,05:00 PM,60\nEGR 333,3,TR,09:00 AM,75\nEGR 444,1,M,05:30 PM,30\n".getBytes());
+        ScheduleChangeset changes = watcher.readChanges();
+        try{
+            watcher.apply(changes);
+            Assert.fail();
+        }catch(ScheduleConflictException e){
+            Assert.assertEquals(2, schedule.size());
+        }
+    }
+
+    @Test
+    public void badLineTest() throws IOException {
+        Path file = writeHelper("EGR 222,3,MWF,05:00 PM,60\n");
+        ScheduleFileWatcher watcher = new ScheduleFileWatcher(file, loadHelper(file));
+        Files.write(file, "EGR 222,3,MWF,05:00 PM,60\nEGR 101,four,TR,09:00 AM,75\n".getBytes());
+        try{
+            watcher.readChanges();
+            Assert.fail();
+        }catch(InputMismatchException e){
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("line 2"));
+        }
+
+        //the next read still compares with the last good contents
+        Files.write(file, "EGR 101,4,TR,09:00 AM,75\n".getBytes());
+        ScheduleChangeset changes = watcher.readChanges();
+        Assert.assertEquals("EGR 101", changes.getAdded().get(0).getName());
+        Assert.assertEquals("EGR 222", changes.getRemoved().get(0).getName());
+    }
+
+    @Test(timeout = 20_000)
+    public void watchTest() throws Exception {
+        Path file = writeHelper("EGR 222,3,MWF,05:00 PM,60\n");
+        Schedule schedule = loadHelper(file);
+        BlockingQueue<ScheduleEvent> events = new ArrayBlockingQueue<>(10);
+        schedule.addScheduleListener(events::add);
+        try(ScheduleFileWatcher watcher = new ScheduleFileWatcher(file, schedule)){
+            watcher.start(Runnable::run);
+            //some watch services only poll for changes now and then; keep writing until one is seen
+            ScheduleEvent event = null;
+            while(event == null){
+                Files.write(file, "EGR 222,3,MWF,05:00 PM,60\nEGR 101,4,TR,09:00 AM,75\n".getBytes());
+                event = events.poll(500, TimeUnit.MILLISECONDS);
+            }
+            Assert.assertEquals(Collections.singleton(ScheduleIO.parseCourse("EGR 101,4,TR,09:00 AM,75")),
+                    new HashSet<>(event.getAdded()));
+            Assert.assertTrue(event.getRemoved().isEmpty());
+            Assert.assertEquals(2, schedule.size());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Tests for ScheduleImporter
+ */
+public class ScheduleImporterTest {
+
+    //deleted with everything in it after each test
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private static void writeHelper(Path file, String... lines) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, Arrays.asList(lines));
+    }
+
+    @Test
+    public void importDirectoryTest() throws IOException, InterruptedException {
+        Path dir = temp.newFolder("schedules").toPath();
+        writeHelper(dir.resolve("a.txt"), "EGR 222,3,MWF,05:00 PM,60", "EGR 333,4,T,04:30 PM,30");
+        writeHelper(dir.resolve("sub/b.txt"), "EGR 444,1,R,12:00 PM,60");
+        writeHelper(dir.resolve("sub/conflict.txt"), "EGR 222,3,MWF,05:00 PM,60", "EGR 105,3,M,04:30 PM,90");
+        writeHelper(dir.resolve("sub/bad.txt"), "EGR 222,three,MWF,05:00 PM,60");
+
+        ScheduleImportReport report = new ScheduleImporter(2).importDirectory(dir);
+        Assert.assertEquals(4, report.getFileCount());
+        Assert.assertEquals(2, report.getLoadedCount());
+        Assert.assertEquals(2, report.getErrorCount());
+        Assert.assertEquals(1, report.getConflictCount());
+        Assert.assertEquals(8, report.getTotalCredits());
+        Assert.assertEquals(3, report.getTotalCourses());
+        Assert.assertEquals(7, report.getSchedule(dir.resolve("a.txt")).totalCredits());
+        Assert.assertTrue(report.getErrors().get(dir.resolve("sub/conflict.txt")) instanceof ScheduleConflictException);
+        Assert.assertEquals(2, report.schedules().count());
+    }
+
+    @Test(timeout = 20_000)
+    public void schedulesTest() throws IOException {
+        Path dir = temp.newFolder("schedules").toPath();
+        for(int i = 0; i < 50; i++){
+            writeHelper(dir.resolve("dir" + i % 5 + "/s" + i + ".txt"), "EGR 222,3,MWF,05:00 PM,60", "EGR " + (300 + i) + ",1,T,04:30 PM,30");
+        }
+        writeHelper(dir.resolve("bad.txt"), "EGR 222,three,MWF,05:00 PM,60");
+
+        //only 2 results are buffered, so the loads wait for the stream to be read
+        try(Stream<Schedule> schedules = new ScheduleImporter(2).schedules(dir)){
+            Assert.assertEquals(50 * 4, schedules.mapToInt(Schedule::totalCredits).sum());
+        }
+        //closing the stream early stops the import
+        try(Stream<Schedule> schedules = new ScheduleImporter(2).schedules(dir)){
+            Assert.assertEquals(3, schedules.limit(3).count());
+        }
+        //a stream that is never closed leaves only daemon threads waiting, which don't keep the JVM alive
+        Set<Thread> threads = nonDaemonThreadsHelper();
+        Assert.assertEquals(1, new ScheduleImporter(2).schedules(dir).limit(1).count());
+        Set<Thread> started = nonDaemonThreadsHelper();
+        started.removeAll(threads);
+        Assert.assertEquals(Collections.emptySet(), started);
+    }
+
+    private static Set<Thread> nonDaemonThreadsHelper(){
+        Set<Thread> threads = new HashSet<>();
+        for(Thread thread : Thread.getAllStackTraces().keySet()){
+            if(thread.isAlive() && !thread.isDaemon()) threads.add(thread);
+        }
+        return threads;
+    }
+
+    @Test(expected = IOException.class)
+    public void schedulesMissingDirectoryTest() throws IOException {
+        new ScheduleImporter().schedules(temp.getRoot().toPath().resolve("missing"));
+    }
+}
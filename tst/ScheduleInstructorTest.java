@@ -1,10 +1,16 @@
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.PrintStream;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Created by mhan on 12/2/2016.
@@ -249,4 +255,371 @@ public class ScheduleInstructorTest {
             Assert.fail("Bug in testcode! Should not throw FileNotFoundException");
         }
     }
+
+    @Test
+    public void diffAndApplyTest(){
+        String[] before = {
+                "EGR 222,3,MWF,05:00 PM,60",
+                "EGR 333,3,MWF,04:30 PM,30",
+                "EGR 444,1,R,12:00 PM,60"
+        };
+        String[] after = {
+                "EGR 222,3,TR,05:00 PM,60",
+                "EGR 333,3,MWF,04:30 PM,30",
+                "EGR 444,1,R,12:00 PM,60",
+                "EGR 555,2,RF,02:00 AM,15"
+        };
+        Schedule s1 = buildScheduleHelper(before);
+        Schedule s2 = buildScheduleHelper(after);
+
+        ScheduleChangeset changes = s1.diff(s2);
+        Assert.assertEquals(3, changes.size());
+        Assert.assertEquals(Arrays.asList(buildCourseHelper(before[0])), changes.getRemoved());
+
+        s1.apply(changes);
+        Assert.assertEquals(new HashSet<>(s2.getAllCourses()), new HashSet<>(s1.getAllCourses()));
+        Assert.assertTrue(s1.diff(s2).isEmpty());
+    }
+
+    @Test
+    public void applyConflictTest(){
+        Schedule s = buildScheduleHelper(new String[]{"EGR 222,3,MWF,05:00 PM,60", "EGR 333,3,T,04:30 PM,30"});
+        List<Course> before = s.getAllCourses();
+        ScheduleChangeset changes = new ScheduleChangeset(
+                Arrays.asList(buildCourseHelper("EGR 444,1,R,12:00 PM,60"), buildCourseHelper("EGR 555,3,T,04:00 PM,60")),
+                Collections.<Course>emptyList());
+        try{
+            s.apply(changes);
+            Assert.fail();
+        }catch(ScheduleConflictException e){
+        }
+        Assert.assertEquals(before, s.getAllCourses());
+
+        //conflicts with a removed course are fine
+        s.apply(new ScheduleChangeset(
+                Arrays.asList(buildCourseHelper("EGR 555,3,T,04:00 PM,60")),
+                Arrays.asList(buildCourseHelper("EGR 333,3,T,04:30 PM,30"))));
+        Assert.assertEquals(2, s.getAllCourses().size());
+    }
+
+    @Test
+    public void changesetSaveLoadTest() throws FileNotFoundException{
+        ScheduleChangeset changes = new ScheduleChangeset(
+                Arrays.asList(buildCourseHelper("EGR 444,1,R,12:00 PM,60")),
+                Arrays.asList(buildCourseHelper("EGR 333,3,T,04:30 PM,30")));
+        PrintStream fileOutput = new PrintStream(new File("tmp4.txt"));
+        changes.save(fileOutput);
+        fileOutput.close();
+
+        ScheduleChangeset loaded = ScheduleIO.loadChangeset(new FileInputStream("tmp4.txt"));
+        Assert.assertEquals(changes.getAdded(), loaded.getAdded());
+        Assert.assertEquals(changes.getRemoved(), loaded.getRemoved());
+    }
+
+    @Test
+    public void historyTest(){
+        Schedule s = buildScheduleHelper(new String[]{"EGR 222,3,MWF,05:00 PM,60"});
+        ScheduleHistory history = new ScheduleHistory(s, 2);
+        Course c1 = buildCourseHelper("EGR 333,3,T,04:30 PM,30");
+        Course c2 = buildCourseHelper("EGR 444,1,R,12:00 PM,60");
+        history.add(c1);
+        history.add(c2);
+        Assert.assertEquals(buildCourseHelper("EGR 222,3,MWF,05:00 PM,60"),
+                history.remove(Weekday.MONDAY, new Time(5, 30, true)));
+        Assert.assertEquals(2, s.getAllCourses().size());
+
+        //capacity is 2, so adding c1 is forgotten
+        Assert.assertEquals(buildCourseHelper("EGR 222,3,MWF,05:00 PM,60"), history.undo());
+        Assert.assertEquals(c2, history.undo());
+        Assert.assertFalse(history.canUndo());
+        Assert.assertEquals(null, history.undo());
+        Assert.assertEquals(2, s.getAllCourses().size());
+        Assert.assertFalse(s.getAllCourses().contains(c2));
+
+        Assert.assertEquals(c2, history.redo());
+        Assert.assertTrue(s.getAllCourses().contains(c2));
+        Assert.assertTrue(history.canRedo());
+
+        //a new edit drops the remaining redo step
+        history.remove(Weekday.TUESDAY, new Time(4, 30, true));
+        Assert.assertFalse(history.canRedo());
+        Assert.assertFalse(s.getAllCourses().contains(c1));
+    }
+
+    @Test
+    public void coursesOnTest(){
+        Schedule s = buildScheduleHelper(courseStringsSave);
+        Collection<Course> friday = s.coursesOn(Weekday.FRIDAY);
+        Assert.assertEquals(Arrays.asList(
+                buildCourseHelper("EGR 555,2,RF,02:00 AM,15"),
+                buildCourseHelper("EGR 777,2,F,11:00 AM,100"),
+                buildCourseHelper("EGR 333,4,MWF,04:30 PM,30"),
+                buildCourseHelper("EGR 222,3,MWF,05:00 PM,60")), new ArrayList<>(friday));
+
+        s.remove(Weekday.MONDAY, new Time(4, 45, true));
+        Assert.assertEquals(3, friday.size()); //the view follows the schedule
+        try{
+            friday.clear();
+            Assert.fail();
+        }catch(UnsupportedOperationException e){
+        }
+    }
+
+    @Test
+    public void nextAndPreviousCourseTest(){
+        Schedule s = buildScheduleHelper(courseStringsSave);
+        Assert.assertEquals(buildCourseHelper("EGR 777,2,F,11:00 AM,100"),
+                s.nextCourseAfter(Weekday.FRIDAY, new Time(2, 1, false)));
+        Assert.assertEquals(buildCourseHelper("EGR 777,2,F,11:00 AM,100"),
+                s.nextCourseAfter(Weekday.FRIDAY, new Time(11, 0, false)));
+        Assert.assertEquals(null, s.nextCourseAfter(Weekday.FRIDAY, new Time(5, 1, true)));
+        Assert.assertEquals(buildCourseHelper("EGR 555,2,RF,02:00 AM,15"),
+                s.previousCourseBefore(Weekday.FRIDAY, new Time(11, 0, false)));
+        Assert.assertEquals(null, s.previousCourseBefore(Weekday.TUESDAY, new Time(11, 0, false)));
+        Assert.assertEquals(buildCourseHelper("EGR 111,2,T,11:00 AM,120"),
+                s.previousCourseBefore(Weekday.TUESDAY, new Time(11, 1, false)));
+    }
+
+    @Test
+    public void courseEndingAtMidnightTest(){
+        Schedule s = new Schedule();
+        Course c1 = buildCourseHelper("EGR 222,3,M,11:00 PM,60");
+        Course c2 = buildCourseHelper("EGR 333,3,M,11:00 PM,30");
+        s.add(c1);
+        Assert.assertEquals(new Time(12, 0, false), c1.getEndTime());
+        Assert.assertTrue(c1.conflictsWith(c2));
+        Assert.assertEquals(c1, s.getCourse(Weekday.MONDAY, new Time(11, 59, true)));
+        try{
+            s.add(c2);
+            Assert.fail();
+        }catch(ScheduleConflictException e){
+        }
+        //a course starting with another one never replaces it in the index, even unchecked
+        try{
+            s.addWithoutChecking(c2);
+            Assert.fail();
+        }catch(ScheduleConflictException e){
+        }
+        Assert.assertEquals(Arrays.asList(c1), new ArrayList<>(s.coursesOn(Weekday.MONDAY)));
+        Assert.assertFalse(s.remove(c2));
+        Assert.assertEquals(1, s.size());
+
+        Assert.assertTrue(s.remove(c1));
+        Assert.assertTrue(s.coursesOn(Weekday.MONDAY).isEmpty());
+        Assert.assertEquals(0, s.size());
+    }
+
+    @Test
+    public void listenerTest(){
+        Schedule s = new Schedule();
+        List<ScheduleEvent> events = new ArrayList<>();
+        s.addScheduleListener(events::add);
+
+        Course c1 = buildCourseHelper("EGR 222,3,MWF,05:00 PM,60");
+        Course c2 = buildCourseHelper("EGR 111,2,T,11:00 AM,120");
+        s.add(c1);
+        s.remove(Weekday.MONDAY, new Time(5, 30, true));
+        Assert.assertEquals(2, events.size());
+        Assert.assertEquals(Arrays.asList(c1), events.get(0).getAdded());
+        Assert.assertEquals(Arrays.asList(c1), events.get(1).getRemoved());
+
+        //one event per batch, with the net changes
+        events.clear();
+        s.batch(() -> {
+            for(String str : courseStringsSave){
+                s.add(buildCourseHelper(str));
+            }
+            s.remove(c2);
+        });
+        Assert.assertEquals(1, events.size());
+        Assert.assertEquals(courseStringsSave.length - 1, events.get(0).getAdded().size());
+        Assert.assertTrue(events.get(0).getRemoved().isEmpty());
+
+        events.clear();
+        s.save(new PrintStream(new ByteArrayOutputStream()), new CourseNameComparator());
+        Assert.assertEquals(1, events.size());
+        Assert.assertTrue(events.get(0).isReordered());
+
+        //a failed apply is rolled back and reports nothing
+        events.clear();
+        try{
+            s.apply(new ScheduleChangeset(Arrays.asList(c2, buildCourseHelper("EGR 999,2,T,11:30 AM,10")),
+                    new ArrayList<>()));
+            Assert.fail();
+        }catch(ScheduleConflictException e){
+        }
+        Assert.assertTrue(events.isEmpty());
+
+        //a clone doesn't share the listeners
+        s.clone().remove(c1);
+        Assert.assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void asyncListenerTest() throws Exception {
+        Schedule s = new Schedule();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        List<ScheduleEvent> events = Collections.synchronizedList(new ArrayList<>());
+        s.addScheduleListener(events::add, executor);
+        s.add(buildCourseHelper("EGR 222,3,MWF,05:00 PM,60"));
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        Assert.assertEquals(1, events.size());
+        Assert.assertSame(s, events.get(0).getSource());
+    }
+
+    @Test
+    public void transactionTest(){
+        Schedule s = buildScheduleHelper(courseStringsSave);
+        List<ScheduleEvent> events = new ArrayList<>();
+        s.addScheduleListener(events::add);
+        Course lecture = buildCourseHelper("EGR 222,3,MWF,05:00 PM,60");
+        Course section = buildCourseHelper("EGR 222,3,TR,06:30 PM,60");
+
+        //the dropped lecture makes room for a course it would conflict with
+        s.beginTransaction().remove(Weekday.MONDAY, new Time(5, 30, true)).add(section)
+                .add(buildCourseHelper("EGR 888,3,MW,05:15 PM,60")).commit();
+        Assert.assertEquals(1, events.size());
+        Assert.assertEquals(Arrays.asList(lecture), events.get(0).getRemoved());
+        Assert.assertEquals(section, s.getCourse(Weekday.TUESDAY, new Time(6, 30, true)));
+        Assert.assertFalse(s.getAllCourses().contains(lecture));
+
+        //a removed course doesn't hide a later course that still conflicts
+        events.clear();
+        List<Course> before = s.getAllCourses();
+        ScheduleTransaction t = s.beginTransaction()
+                .remove(buildCourseHelper("EGR 333,4,MWF,04:30 PM,30"))
+                .add(buildCourseHelper("EGR 999,1,M,04:00 PM,120"));
+        try{
+            t.commit();
+            Assert.fail();
+        }catch(ScheduleConflictException e){
+        }
+        Assert.assertEquals(before, s.getAllCourses());
+        Assert.assertTrue(events.isEmpty());
+
+        //staged courses are checked against each other
+        try{
+            s.beginTransaction().add(buildCourseHelper("EGR 998,1,W,08:00 AM,60"))
+                    .add(buildCourseHelper("EGR 997,1,MW,08:30 AM,60")).commit();
+            Assert.fail();
+        }catch(ScheduleConflictException e){
+        }
+        Assert.assertEquals(before, s.getAllCourses());
+    }
+
+    @Test(timeout = 20_000)
+    public void concurrentTransactionTest() throws Exception {
+        Schedule s = new Schedule();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for(int i = 0; i < 200; i++){
+            Time start = new Time(12, 0, false);
+            start.shift(i * 7);
+            Course c = new Course("EGR " + i, 1, CourseInstructorTest.toEnumSet("MWF"), start, 5);
+            futures.add(pool.submit(() -> s.beginTransaction().add(c).commit()));
+        }
+        for(Future<?> f : futures){
+            f.get();
+        }
+        pool.shutdown();
+        Assert.assertEquals(200, s.size());
+    }
+
+    @Test
+    public void nameLookupTest(){
+        Schedule s = buildScheduleHelper(courseStringsSave);
+        Assert.assertTrue(s.contains("EGR 222"));
+        Assert.assertTrue(s.contains("egr 222"));
+        Assert.assertFalse(s.contains("EGR 999"));
+        Assert.assertEquals(buildCourseHelper("EGR 444,1,R,12:00 PM,60"), s.get("EGR 444"));
+        Assert.assertNull(s.get("EGR 999"));
+
+        s.add(buildCourseHelper("EGR 222,1,T,08:00 AM,50"));  //a lab with the lecture's name
+        Assert.assertEquals(buildCourseHelper("EGR 222,3,MWF,05:00 PM,60"), s.get("EGR 222"));
+        Assert.assertTrue(s.remove("EGR 222"));
+        Assert.assertFalse(s.contains("EGR 222"));
+        Assert.assertNull(s.getCourse(Weekday.TUESDAY, new Time(8, 0, false)));
+        Assert.assertEquals(courseStringsSave.length - 1, s.size());
+        Assert.assertFalse(s.remove("EGR 222"));
+
+        s.remove(Weekday.THURSDAY, new Time(12, 30, true));
+        Assert.assertFalse(s.contains("EGR 444"));
+        Assert.assertTrue(s.clone().remove("EGR 111"));
+        Assert.assertTrue(s.contains("EGR 111"));
+    }
+
+    @Test
+    public void nameLookupNegativeTest(){
+        Schedule s = buildScheduleHelper(courseStringsSave);
+        try{
+            s.get(null);
+            Assert.fail();
+        }catch(IllegalArgumentException e){
+        }
+        try{
+            s.contains(null);
+            Assert.fail();
+        }catch(IllegalArgumentException e){
+        }
+        try{
+            s.remove((String) null);
+            Assert.fail();
+        }catch(IllegalArgumentException e){
+        }
+        Assert.assertEquals(courseStringsSave.length, s.size());
+    }
+
+    @Test
+    public void statsTest(){
+        Schedule s = buildScheduleHelper(courseStringsSave);
+        ScheduleStats stats = s.getStats();
+        Assert.assertEquals(courseStringsSave.length, stats.getCourseCount());
+        Assert.assertEquals(17, stats.getTotalCredits());
+        Assert.assertEquals(90, stats.getMinutes(Weekday.MONDAY));
+        Assert.assertEquals(buildCourseHelper("EGR 333,4,MWF,04:30 PM,30"), stats.getFirstCourse(Weekday.MONDAY));
+        Assert.assertEquals(buildCourseHelper("EGR 222,3,MWF,05:00 PM,60"), stats.getLastCourse(Weekday.MONDAY));
+        Assert.assertEquals(0, stats.getGapMinutes(Weekday.MONDAY));
+        //EGR 555 02:00-02:15, EGR 777 11:00-12:40, EGR 333 04:30-05:00, EGR 222 05:00-06:00
+        Assert.assertEquals(16 * 60 - 15 - 100 - 90, stats.getGapMinutes(Weekday.FRIDAY));
+
+        s.remove(Weekday.FRIDAY, new Time(2, 0, false));
+        Assert.assertEquals(buildCourseHelper("EGR 777,2,F,11:00 AM,100"), stats.getFirstCourse(Weekday.FRIDAY));
+        Assert.assertEquals(buildCourseHelper("EGR 444,1,R,12:00 PM,60"), stats.getFirstCourse(Weekday.THURSDAY));
+        Assert.assertEquals(15, stats.getTotalCredits());
+        Assert.assertEquals(s.totalCredits(), stats.getTotalCredits());
+        s.remove("EGR 444");
+        Assert.assertNull(stats.getFirstCourse(Weekday.THURSDAY));
+        Assert.assertEquals(0, stats.getMinutes(Weekday.THURSDAY));
+        Assert.assertEquals(0, stats.getGapMinutes(Weekday.THURSDAY));
+
+        Schedule copy = s.clone();
+        copy.remove("EGR 111");
+        Assert.assertEquals(180, stats.getMinutes(Weekday.TUESDAY));
+        Assert.assertEquals(60, copy.getStats().getMinutes(Weekday.TUESDAY));
+    }
+
+    @Test
+    public void statsRemoveEqualCourseTest(){
+        //courses removed through equal copies that are not the same objects
+        Schedule s = new Schedule();
+        s.add(buildCourseHelper("EGR 111,2,M,09:00 AM,60"));
+        s.add(buildCourseHelper("EGR 222,3,M,12:00 PM,60"));
+        s.add(buildCourseHelper("EGR 333,3,M,03:00 PM,60"));
+        ScheduleStats stats = s.getStats();
+        Assert.assertEquals(240, stats.getGapMinutes(Weekday.MONDAY));
+
+        Assert.assertTrue(s.remove(buildCourseHelper("EGR 333,3,M,03:00 PM,60")));
+        Assert.assertEquals(buildCourseHelper("EGR 222,3,M,12:00 PM,60"), stats.getLastCourse(Weekday.MONDAY));
+        Assert.assertEquals(120, stats.getGapMinutes(Weekday.MONDAY));
+
+        s.beginTransaction()
+                .remove(buildCourseHelper("EGR 111,2,M,09:00 AM,60"))
+                .remove(buildCourseHelper("EGR 222,3,M,12:00 PM,60"))
+                .commit();
+        Assert.assertEquals(0, s.size());
+        Assert.assertNull(stats.getFirstCourse(Weekday.MONDAY));
+        Assert.assertNull(stats.getLastCourse(Weekday.MONDAY));
+        Assert.assertEquals(0, stats.getGapMinutes(Weekday.MONDAY));
+    }
 }
@@ -0,0 +1,193 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Scale tests: runs the optimized paths on generated workloads under wall-clock budgets
+ * and checks them against naive reference implementations.
+ * Catalog sizes default to 10^5 courses; run with -Degr222.scale=1000000 for 10^6.
+ * Schedules are capped at WorkloadGenerator.MAX_SCHEDULE_SIZE, since courses of one schedule can't overlap.
+ */
+public class ScheduleScaleTest {
+    private static final int SCALE = Integer.getInteger("egr222.scale", 100_000);
+    private static final int SCHEDULE_SIZE = Math.min(SCALE, 5_000);
+    private static final int PROBES = 10_000;
+    private static final long SEED = 222;
+
+    private static Path writeHelper(List<String> lines) throws IOException {
+        Path file = Files.createTempFile("scale", ".txt");
+        file.toFile().deleteOnExit();
+        Files.write(file, lines);
+        return file;
+    }
+
+    private static Schedule loadHelper(Path file) throws IOException {
+        try(InputStream in = new FileInputStream(file.toFile())){
+            return ScheduleIO.load(in);
+        }
+    }
+
+    private static Time randomTime(SplittableRandom random){
+        return Time.fromMinute(random.nextInt(24 * 60));
+    }
+
+    private static Weekday randomDay(SplittableRandom random){
+        return Weekday.values()[random.nextInt(Weekday.values().length)];
+    }
+
+    @Test(timeout = 20_000)
+    public void loadAndGetCourseTest() throws IOException {
+        List<String> lines = new WorkloadGenerator(SEED).density(0.8).scheduleLines(SCHEDULE_SIZE);
+        Path file = writeHelper(lines);
+        Schedule schedule = loadHelper(file);
+
+        NaiveSchedule oracle = new NaiveSchedule();
+        for(String line : lines){
+            Assert.assertNull(oracle.add(ScheduleIO.parseCourse(line)));
+        }
+        Assert.assertEquals(oracle.getAllCourses(), schedule.getAllCourses());
+        Assert.assertEquals(schedule.getAllCourses(),
+                new ParallelScheduleLoader(file, ForkJoinPool.commonPool(), 4096).load().getAllCourses());
+
+        SplittableRandom random = new SplittableRandom(SEED);
+        for(int i = 0; i < PROBES; i++){
+            Weekday day = randomDay(random);
+            Time time = randomTime(random);
+            Assert.assertEquals(day + " " + time, oracle.getCourse(day, time), schedule.getCourse(day, time));
+        }
+        for(int i = 0; i < PROBES / 10; i++){
+            Weekday day = randomDay(random);
+            Time time = randomTime(random);
+            oracle.remove(day, time);
+            schedule.remove(day, time);
+        }
+        Assert.assertEquals(oracle.getAllCourses(), schedule.getAllCourses());
+
+        //the incrementally kept statistics match a full recount
+        int credits = 0;
+        int[] minutes = new int[Weekday.values().length];
+        for(Course c : oracle.getAllCourses()){
+            credits += c.getCredits();
+            for(Weekday day : c.getDaysOffered()){
+                minutes[day.ordinal()] += c.getDuration();
+            }
+        }
+        Assert.assertEquals(credits, schedule.totalCredits());
+        for(Weekday day : Weekday.values()){
+            Assert.assertEquals(minutes[day.ordinal()], schedule.getStats().getMinutes(day));
+            Course first = oracle.getAllCourses().stream().filter(c -> c.getDaysOffered().contains(day))
+                    .min(Comparator.comparingInt(Course::getStartMinute)).orElse(null);
+            Assert.assertEquals(first, schedule.getStats().getFirstCourse(day));
+        }
+    }
+
+    @Test(timeout = 20_000)
+    public void conflictTest() throws IOException {
+        List<String> lines = new WorkloadGenerator(SEED).conflictRate(0.001).scheduleLines(SCHEDULE_SIZE);
+        NaiveSchedule oracle = new NaiveSchedule();
+        Course conflicting = null;
+        for(String line : lines){
+            Course c = ScheduleIO.parseCourse(line);
+            if(oracle.add(c) != null){
+                conflicting = c;
+                break;
+            }
+        }
+        Assert.assertNotNull(conflicting);
+
+        try{
+            loadHelper(writeHelper(lines));
+            Assert.fail();
+        }catch(ScheduleConflictException e){
+            Assert.assertTrue(e.getMessage(), e.getMessage().endsWith(conflicting + " have day and time conflict"));
+        }
+    }
+
+    @Test(timeout = 20_000)
+    public void saveTest() throws IOException {
+        Schedule schedule = new Schedule();
+        for(Course c : new WorkloadGenerator(SEED).schedule(SCHEDULE_SIZE)){
+            schedule.add(c);
+        }
+        Set<Course> expected = new HashSet<>(schedule.getAllCourses());
+        List<Comparator<Course>> comparators = Arrays.asList(
+                new CourseNameComparator(), new CourseCreditComparator(), new CourseTimeComparator());
+        for(Comparator<Course> comparator : comparators){
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            schedule.save(new PrintStream(out), comparator);
+            Schedule saved = ScheduleIO.load(new ByteArrayInputStream(out.toByteArray()));
+            List<Course> courses = saved.getAllCourses();
+
+            Assert.assertEquals(expected, new HashSet<>(courses));
+            for(int i = 1; i < courses.size(); i++){
+                Assert.assertTrue(comparator.compare(courses.get(i - 1), courses.get(i)) <= 0);
+            }
+        }
+    }
+
+    @Test(timeout = 30_000)
+    public void catalogTest() {
+        List<Course> courses = new WorkloadGenerator(SEED).dayWeights(0.6, 0.4, 0.6, 0.4, 0.3).catalog(SCALE);
+        CourseCatalog catalog = new CourseCatalog(courses);
+        Assert.assertEquals(courses.size(), catalog.size());
+
+        SplittableRandom random = new SplittableRandom(SEED);
+        for(int i = 0; i < 20; i++){
+            String prefix = courses.get(random.nextInt(courses.size())).getName().substring(0, 5);
+            Set<Weekday> days = courses.get(random.nextInt(courses.size())).getDaysOffered();
+            Time from = randomTime(random);
+            List<Course> expected = courses.stream()
+                    .filter(c -> c.getName().startsWith(prefix))
+                    .filter(c -> c.getDaysOffered().containsAll(days))
+                    .filter(c -> c.getStartTime().compareTo(from) >= 0)
+                    .collect(Collectors.toList());
+            List<Course> actual = catalog.query().namePrefix(prefix).meetingOn(days).startingFrom(from)
+                    .stream().collect(Collectors.toList());
+            Assert.assertEquals(expected.size(), actual.size());
+            Assert.assertEquals(new HashSet<>(expected), new HashSet<>(actual));
+        }
+    }
+
+    @Test(timeout = 30_000)
+    public void intervalIndexTest() {
+        List<Course> courses = new WorkloadGenerator(SEED).maxDuration(90).catalog(SCALE);
+        CourseIntervalIndex index = new CourseIntervalIndex(courses);
+        Assert.assertEquals(new HashSet<>(courses).size(), index.size());
+
+        SplittableRandom random = new SplittableRandom(SEED);
+        for(int i = 0; i < 20; i++){
+            Weekday day = randomDay(random);
+            int from = random.nextInt(24 * 60 - 30);
+            int to = from + 1 + random.nextInt(30);
+            Set<Course> expected = courses.stream()
+                    .filter(c -> c.getDaysOffered().contains(day))
+                    .filter(c -> c.getStartMinute() < to && c.getStartMinute() + c.getDuration() > from)
+                    .collect(Collectors.toSet());
+            List<Course> actual = index.coursesDuring(day, Time.fromMinute(from), Time.fromMinute(to))
+                    .collect(Collectors.toList());
+            Assert.assertEquals(expected.size(), actual.size());
+            Assert.assertEquals(expected, new HashSet<>(actual));
+        }
+    }
+
+    @Test(timeout = 30_000)
+    public void lazyFileTest() throws IOException {
+        List<Course> courses = new WorkloadGenerator(SEED).catalog(SCALE);
+        Path file = writeHelper(courses.stream().map(Course::toString).collect(Collectors.toList()));
+        LazyCourseFile.sidecarOf(file).toFile().deleteOnExit();
+        try(LazyCourseFile lazy = LazyCourseFile.open(file, 100)){
+            Assert.assertEquals(courses.size(), lazy.size());
+            SplittableRandom random = new SplittableRandom(SEED);
+            for(int i = 0; i < PROBES; i++){
+                int index = random.nextInt(courses.size());
+                Assert.assertEquals(courses.get(index), lazy.get(index));
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+
+/**
+ * Tests for ScheduleSnapshotCache
+ */
+public class ScheduleSnapshotCacheTest {
+
+    //deleted after each test, with the snapshots and their temporary files written next to the schedule files
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private Path writeHelper(String text) throws IOException {
+        Path file = temp.newFile("courses.txt").toPath();
+        Files.write(file, text.getBytes());
+        return file;
+    }
+
+    @Test
+    public void loadTest() throws IOException {
+        Path file = writeHelper(String.join("\n", ScheduleInstructorTest.courseStringsSave));
+        Assert.assertNull(ScheduleSnapshotCache.readSnapshot(file));
+
+        Schedule parsed = ScheduleSnapshotCache.load(file);
+        Assert.assertEquals(ScheduleIO.load(new FileInputStream(file.toFile())).getAllCourses(), parsed.getAllCourses());
+        Assert.assertTrue(Files.exists(ScheduleSnapshotCache.snapshotOf(file)));
+
+        Schedule snapshot = ScheduleSnapshotCache.readSnapshot(file);
+        Assert.assertNotNull(snapshot);
+        Assert.assertEquals(parsed.getAllCourses(), snapshot.getAllCourses());
+        Assert.assertEquals(parsed.totalCredits(), snapshot.totalCredits());
+        Assert.assertEquals(parsed.getAllCourses(), ScheduleSnapshotCache.load(file).getAllCourses());
+    }
+
+    @Test
+    public void staleTest() throws IOException {
+        Path file = writeHelper("EGR 222,3,MWF,05:00 PM,60\n");
+        Assert.assertEquals("EGR 222", ScheduleSnapshotCache.load(file).getAllCourses().get(0).getName());
+
+        //same size and modification time, different contents: only the checksum tells them apart
+        FileTime modified = Files.getLastModifiedTime(file);
+        Files.write(file, "EGR 333,3,MWF,05:00 PM,60\n".getBytes());
+        Files.setLastModifiedTime(file, modified);
+        Assert.assertNull(ScheduleSnapshotCache.readSnapshot(file));
+        Assert.assertEquals("EGR 333", ScheduleSnapshotCache.load(file).getAllCourses().get(0).getName());
+        Assert.assertNotNull(ScheduleSnapshotCache.readSnapshot(file));
+    }
+
+    @Test
+    public void damagedTest() throws IOException {
+        Path file = writeHelper("EGR 222,3,MWF,05:00 PM,60\nEGR 101,4,TR,09:00 AM,75\n");
+        ScheduleSnapshotCache.load(file);
+        Path snapshot = ScheduleSnapshotCache.snapshotOf(file);
+        byte[] bytes = Files.readAllBytes(snapshot);
+        Files.write(snapshot, Arrays.copyOf(bytes, bytes.length - 10));
+
+        Assert.assertNull(ScheduleSnapshotCache.readSnapshot(file));
+        Assert.assertEquals(2, ScheduleSnapshotCache.load(file).getAllCourses().size());
+        Assert.assertArrayEquals(bytes, Files.readAllBytes(snapshot));
+    }
+
+    @Test(expected = ScheduleConflictException.class)
+    public void conflictTest() throws IOException {
+        Path file = writeHelper("EGR 222,3,MWF,05:00 PM,60\nEGR 101,4,M,05:30 PM,75\n");
+        try {
+            ScheduleSnapshotCache.load(file);
+        } finally {
+            Assert.assertFalse(Files.exists(ScheduleSnapshotCache.snapshotOf(file)));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+/**
+ * Tests for ScheduleTableModel
+ */
+public class ScheduleTableModelTest {
+
+    private static Schedule scheduleHelper(){
+        Schedule s = new Schedule();
+        s.add(new Course("EGR 222", 3, CourseInstructorTest.toEnumSet("MWF"), new Time(9, 0, false), 60));
+        s.add(new Course("EGR 555", 3, CourseInstructorTest.toEnumSet("T"), new Time(2, 0, false), 30));
+        return s;
+    }
+
+    @Test
+    public void defaultRangeTest() {
+        ScheduleTableModel model = ScheduleTableModel.of(scheduleHelper());
+        Assert.assertEquals(44, model.getRowCount());
+        Assert.assertEquals("07:00 AM", model.getValueAt(0, 0));
+        Assert.assertEquals("05:45 PM", model.getValueAt(43, 0));
+        Assert.assertEquals("EGR 222", model.getValueAt(8, 1));
+        Assert.assertEquals("EGR 222", model.getValueAt(11, 3));
+        Assert.assertNull(model.getValueAt(12, 1));
+        Assert.assertNull(model.getValueAt(8, 2));
+    }
+
+    @Test
+    public void fullDayTest() {
+        ScheduleTableModel model = ScheduleTableModel.of(scheduleHelper(), 5);
+        Assert.assertEquals(288, model.getRowCount());
+        Assert.assertEquals("12:00 AM", model.getValueAt(0, 0));
+        Assert.assertEquals("11:55 PM", model.getValueAt(287, 0));
+        Assert.assertEquals("EGR 555", model.getValueAt(24, 2));
+        Assert.assertEquals("EGR 555", model.getValueAt(29, 2));
+        Assert.assertNull(model.getValueAt(30, 2));
+
+        model.setResolution(30);
+        Assert.assertEquals(48, model.getRowCount());
+        Assert.assertEquals("09:30 AM", model.getValueAt(19, 0));
+        Assert.assertEquals("EGR 222", model.getValueAt(18, 5));
+        Assert.assertEquals(18, model.firstRowOf(model.getCourseAt(18, 5)));
+        Assert.assertEquals(19, model.lastRowOf(model.getCourseAt(18, 5)));
+    }
+
+    @Test
+    public void offBoundaryTest() {
+        Schedule s = new Schedule();
+        Course c1 = new Course("EGR 101", 3, CourseInstructorTest.toEnumSet("M"), new Time(9, 10, false), 10);
+        Course c2 = new Course("EGR 102", 3, CourseInstructorTest.toEnumSet("M"), new Time(9, 25, false), 15);
+        Course c3 = new Course("EGR 103", 3, CourseInstructorTest.toEnumSet("T"), new Time(9, 15, false), 60);
+        Course c4 = new Course("EGR 104", 3, CourseInstructorTest.toEnumSet("F"), new Time(11, 45, true), 15);
+        s.add(c1);
+        s.add(c2);
+        s.add(c3);
+        s.add(c4);
+        ScheduleTableModel model = ScheduleTableModel.of(s, 30);
+
+        //a course shorter than a row shows in the row it falls in, next to any other course of that row
+        Assert.assertEquals("EGR 101, EGR 102", model.getValueAt(18, 1));
+        Assert.assertEquals(c1, model.getCourseAt(18, 1));
+        Assert.assertEquals(Arrays.asList(c1, c2), model.getCoursesAt(18, 1));
+        Assert.assertEquals(18, model.firstRowOf(c1));
+        Assert.assertEquals(18, model.lastRowOf(c1));
+        Assert.assertEquals("EGR 102", model.getValueAt(19, 1));
+        Assert.assertEquals(19, model.lastRowOf(c2));
+        Assert.assertNull(model.getValueAt(20, 1));
+
+        //a course starting inside a row is drawn from that row, as firstRowOf says
+        Assert.assertEquals(c3, model.getCourseAt(18, 2));
+        Assert.assertEquals(18, model.firstRowOf(c3));
+        Assert.assertEquals(c3, model.getCourseAt(20, 2));
+        Assert.assertEquals(20, model.lastRowOf(c3));
+        Assert.assertNull(model.getCourseAt(21, 2));
+        Assert.assertNull(model.getCourseAt(17, 2));
+
+        //the last row reaches midnight
+        Assert.assertEquals(c4, model.getCourseAt(47, 5));
+        Assert.assertEquals(47, model.lastRowOf(c4));
+
+        model.removeCourse(18, 1);
+        Assert.assertEquals("EGR 102", model.getValueAt(18, 1));
+        Assert.assertEquals(3, s.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void resolutionTest() {
+        ScheduleTableModel.of(scheduleHelper(), 7);
+    }
+
+    @Test
+    public void changeTest() {
+        ScheduleTableModel model = ScheduleTableModel.of(scheduleHelper(), 15);
+        Assert.assertNull(model.getValueAt(48, 2));
+        model.addCourse(new Course("EGR 101", 4, CourseInstructorTest.toEnumSet("TR"), new Time(12, 0, true), 75));
+        Assert.assertEquals("EGR 101", model.getValueAt(48, 2));
+        model.undo();
+        Assert.assertNull(model.getValueAt(48, 2));
+    }
+
+    @Test
+    public void scheduleListenerTest() {
+        Schedule s = scheduleHelper();
+        ScheduleTableModel model = ScheduleTableModel.of(s, 15);
+        Assert.assertEquals("EGR 222", model.getValueAt(36, 1));
+        s.remove(Weekday.MONDAY, new Time(9, 0, false));
+        Assert.assertNull(model.getValueAt(36, 1));
+    }
+}
@@ -0,0 +1,100 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Tests for ScheduleTool
+ */
+public class ScheduleToolTest {
+
+    private static String writeHelper(String text) throws IOException {
+        Path file = Files.createTempFile("courses", ".txt");
+        file.toFile().deleteOnExit();
+        Files.write(file, text.getBytes());
+        return file.toString();
+    }
+
+    // what the latest runHelper wrote to the error stream
+    private String errors;
+
+    // Runs the tool and returns its exit status followed by its output; the error output goes to errors
+    private String runHelper(String... args) throws IOException {
+        ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
+        ByteArrayOutputStream errBytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(outBytes);
+        PrintStream err = new PrintStream(errBytes);
+        int status = ScheduleTool.run(args, out, err);
+        out.flush();
+        err.flush();
+        errors = errBytes.toString().replace("\r\n", "\n");
+        return status + "\n" + outBytes.toString().replace("\r\n", "\n");
+    }
+
+    @Test
+    public void validateTest() throws IOException {
+        String good = writeHelper("EGR 222,3,MWF,05:00 PM,60\n\nEGR 101,4,TR,09:00 AM,75\n");
+        Assert.assertEquals("0\n" + good + ": 2 courses, 0 problems\n", runHelper("validate", good));
+
+        String bad = writeHelper("EGR 222,3,MWF,05:00 PM,60\nEGR 101,four,TR,09:00 AM,75\nEGR 333,3,M,05:30 PM,60\n");
+        String[] lines = runHelper("validate", good, bad).split("\n");
+        Assert.assertEquals("1", lines[0]);
+        Assert.assertEquals(good + ": 2 courses, 0 problems", lines[1]);
+        Assert.assertTrue(lines[2], lines[2].startsWith(bad + ":2: "));
+        Assert.assertTrue(lines[3], lines[3].startsWith(bad + ":3: ") && lines[3].endsWith("have day and time conflict"));
+        Assert.assertEquals(bad + ": 1 courses, 2 problems", lines[4]);
+        Assert.assertEquals("", errors);
+    }
+
+    @Test
+    public void sortTest() throws IOException {
+        String file = writeHelper("EGR 333,1,R,12:00 PM,60\nEGR 111,2,T,11:00 AM,120\nEGR 222,3,MWF,05:00 PM,60\n");
+        Assert.assertEquals("0\nEGR 111,2,T,11:00 AM,120\nEGR 222,3,MWF,05:00 PM,60\nEGR 333,1,R,12:00 PM,60\n",
+                runHelper("sort", "name", file));
+        Assert.assertEquals("0\nEGR 333,1,R,12:00 PM,60\nEGR 111,2,T,11:00 AM,120\nEGR 222,3,MWF,05:00 PM,60\n",
+                runHelper("sort", "credits", file));
+        Assert.assertEquals("", errors);
+        Assert.assertEquals("2\n", runHelper("sort", "room", file));
+        Assert.assertTrue(errors, errors.startsWith("usage: java ScheduleTool validate [file...]\n"));
+
+        String bad = writeHelper("EGR 333,1,R,12:00 PM,60\nEGR 111,two,T,11:00 AM,120\n");
+        Assert.assertEquals("1\n", runHelper("sort", "name", bad));
+        Assert.assertTrue(errors, errors.startsWith(bad + ":2: "));
+    }
+
+    @Test
+    public void convertTest() throws IOException {
+        String text = "EGR 222,3,MWF,05:00 PM,60\nEGR 101,4,TR,09:00 AM,75\n";
+        String json = runHelper("convert", "json", writeHelper(text));
+        Assert.assertEquals("0\n{\"name\":\"EGR 222\",\"credits\":3,\"days\":\"MWF\",\"start\":\"05:00 PM\",\"duration\":60}\n"
+                + "{\"name\":\"EGR 101\",\"credits\":4,\"days\":\"TR\",\"start\":\"09:00 AM\",\"duration\":75}\n", json);
+
+        //and back, from JSON with its fields in another order and spaces between them
+        String jsonFile = writeHelper(json.substring(2)
+                + "{ \"duration\": 50, \"start\": \"11:00 AM\", \"days\": \"MTWRF\", \"credits\": 4, \"name\": \"MATH 121\" }\n");
+        Assert.assertEquals("0\n" + text + "MATH 121,4,MTWRF,11:00 AM,50\n", runHelper("convert", "text", jsonFile));
+
+        String missing = writeHelper("{\"name\":\"EGR 222\",\"credits\":3}\n");
+        Assert.assertEquals("1\n", runHelper("convert", "text", missing));
+        Assert.assertTrue(errors, errors.startsWith(missing + ":1: ") && errors.endsWith("\n"));
+        Assert.assertEquals(1, errors.split("\n").length);
+        Assert.assertEquals("2\n", runHelper("convert", "xml"));
+        Assert.assertTrue(errors, errors.startsWith("usage: "));
+    }
+
+    @Test
+    public void creditsTest() throws IOException {
+        String first = writeHelper("EGR 222,3,MWF,05:00 PM,60\nEGR 101,4,TR,09:00 AM,75\n");
+        String second = writeHelper("{\"name\":\"EGR 111\",\"credits\":2,\"days\":\"T\",\"start\":\"11:00 AM\",\"duration\":120}\n"
+                + "EGR 101,four,TR,09:00 AM,75\n");
+        Assert.assertEquals("1\n" + first + ": 7\n" + second + ": 2\n", runHelper("credits", first, second));
+        Assert.assertTrue(errors, errors.startsWith(second + ":2: "));
+        Assert.assertEquals(1, errors.split("\n").length);
+        Assert.assertEquals("2\n", runHelper());
+        Assert.assertTrue(errors, errors.startsWith("usage: "));
+    }
+}
@@ -0,0 +1,104 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for SeatRegistry and enrolling through Schedule.add(Course, SeatRegistry)
+ */
+public class SeatRegistryTest {
+
+    @Test
+    public void reserveTest() {
+        SeatRegistry seats = new SeatRegistry();
+        Course c = ScheduleIO.parseCourse("EGR 222,3,MWF,05:00 PM,60");
+        Assert.assertEquals(SeatRegistry.UNLIMITED, seats.capacity(c));
+        seats.setCapacity(c, 2);
+        Assert.assertTrue(seats.tryReserve(c));
+        Assert.assertTrue(seats.tryReserve(ScheduleIO.parseCourse("EGR 222,3,MWF,05:00 PM,60")));
+        Assert.assertFalse(seats.tryReserve(c));
+        Assert.assertEquals(2, seats.enrolled(c));
+        Assert.assertEquals(0, seats.available(c));
+        seats.release(c);
+        Assert.assertEquals(1, seats.available(c));
+    }
+
+    @Test
+    public void scheduleTest() {
+        SeatRegistry seats = new SeatRegistry();
+        Course c1 = ScheduleIO.parseCourse("EGR 222,3,MWF,05:00 PM,60");
+        Course c2 = ScheduleIO.parseCourse("EGR 101,3,MW,05:30 PM,60");
+        seats.setCapacity(c1, 1);
+        seats.setCapacity(c2, 1);
+
+        Schedule s1 = new Schedule();
+        s1.add(c1, seats);
+        try{
+            s1.add(c2, seats);
+            Assert.fail();
+        }catch(ScheduleConflictException e){
+            Assert.assertEquals(0, seats.enrolled(c2));
+        }
+
+        Schedule s2 = new Schedule();
+        try{
+            s2.add(c1, seats);
+            Assert.fail();
+        }catch(SectionFullException e){
+            Assert.assertEquals(0, s2.size());
+        }
+        Assert.assertTrue(s1.remove(c1, seats));
+        s2.add(c1, seats);
+        Assert.assertEquals(1, seats.enrolled(c1));
+    }
+
+    @Test
+    public void removeWithoutSeatTest() {
+        SeatRegistry seats = new SeatRegistry();
+        Course c = ScheduleIO.parseCourse("EGR 333,3,TR,09:00 AM,75");
+        Schedule s = new Schedule();
+        s.add(c); //no seat taken
+        List<ScheduleEvent> events = new ArrayList<>();
+        s.addScheduleListener(events::add);
+        try{
+            s.remove(c, seats);
+            Assert.fail();
+        }catch(IllegalStateException e){
+            Assert.assertEquals(1, s.size());
+            Assert.assertTrue(events.isEmpty());
+        }
+        Assert.assertFalse(new Schedule().remove(c, seats));
+    }
+
+    @Test(timeout = 20_000)
+    public void concurrentTest() throws Exception {
+        SeatRegistry seats = new SeatRegistry();
+        Course popular = ScheduleIO.parseCourse("EGR 222,3,MWF,05:00 PM,60");
+        seats.setCapacity(popular, 100);
+        ExecutorService pool = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger enrolled = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for(int i = 0; i < 5000; i++){
+            futures.add(pool.submit(() -> {
+                start.await();
+                try{
+                    new Schedule().add(popular, seats);
+                    enrolled.incrementAndGet();
+                }catch(SectionFullException e){
+                    //expected for all but 100 students
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for(Future<?> f : futures){
+            f.get();
+        }
+        pool.shutdown();
+        Assert.assertEquals(100, enrolled.get());
+        Assert.assertEquals(100, seats.enrolled(popular));
+    }
+}
@@ -0,0 +1,126 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * Round-trip tests for the serialized forms of Time, Course and Schedule
+ */
+public class SerializationTest {
+
+    private static byte[] writeHelper(Object... objects) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try(ObjectOutputStream out = new ObjectOutputStream(bytes)){
+            for(Object o : objects){
+                out.writeObject(o);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<Object> readHelper(byte[] bytes, int count) throws IOException, ClassNotFoundException {
+        List<Object> objects = new ArrayList<>();
+        try(ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))){
+            for(int i = 0; i < count; i++){
+                objects.add(in.readObject());
+            }
+        }
+        return objects;
+    }
+
+    @Test
+    public void timeTest() throws Exception {
+        Time t = new Time(11, 59, true);
+        Time read = (Time) readHelper(writeHelper(t), 1).get(0);
+        Assert.assertEquals(t, read);
+        Assert.assertEquals("11:59 PM", read.toString());
+    }
+
+    @Test
+    public void daySetTest() throws Exception {
+        DaySet days = DaySet.fromShortNames("MWF");
+        Assert.assertSame(days, readHelper(writeHelper(days), 1).get(0));
+    }
+
+    @Test
+    public void courseTest() throws Exception {
+        Course c = new Course("EGR 222", 5, CourseInstructorTest.toEnumSet("MTWRF"), new Time(11, 0, true), 1000);
+        Course read = (Course) readHelper(writeHelper(c), 1).get(0);
+        Assert.assertEquals(c, read);
+        Assert.assertEquals(c.toString(), read.toString());
+        Assert.assertSame(Course.of("EGR 222", 5, CourseInstructorTest.toEnumSet("MTWRF"), new Time(11, 0, true), 1000),
+                read);
+    }
+
+    @Test
+    public void scheduleTest() throws Exception {
+        Schedule s = new Schedule();
+        for(String str : ScheduleInstructorTest.courseStringsSave){
+            s.add(ScheduleIO.parseCourse(str));
+        }
+        s.addScheduleListener(event -> {});
+        Schedule copy = s.clone();
+        copy.remove("EGR 111");
+
+        List<Object> read = readHelper(writeHelper(s, copy), 2);
+        Schedule s2 = (Schedule) read.get(0);
+        Schedule copy2 = (Schedule) read.get(1);
+        Assert.assertEquals(s.getAllCourses(), s2.getAllCourses());
+        Assert.assertEquals(copy.getAllCourses(), copy2.getAllCourses());
+        Assert.assertEquals(s.totalCredits(), s2.totalCredits());
+        Assert.assertEquals(s.getCourse(Weekday.FRIDAY, new Time(2, 10, false)),
+                s2.getCourse(Weekday.FRIDAY, new Time(2, 10, false)));
+        //a course shared by the two schedules was read once
+        Assert.assertSame(s2.get("EGR 222"), copy2.get("EGR 222"));
+    }
+
+    // What default serialization of the same fields would store for a course
+    private static class DefaultCourse implements Serializable {
+        private static final long serialVersionUID = 1L;
+        final String name;
+        final int credits;
+        final EnumSet<Weekday> days;
+        final int start;
+        final int duration;
+
+        DefaultCourse(Course c){
+            name = c.getName();
+            credits = c.getCredits();
+            days = EnumSet.copyOf(c.getDaysOffered());
+            start = c.getStartMinute();
+            duration = c.getDuration();
+        }
+    }
+
+    @Test
+    public void sizeTest() throws Exception {
+        List<String> lines = new WorkloadGenerator(222).scheduleLines(1000);
+        int textSize = (String.join("\n", lines) + "\n").length();
+        Schedule s = ScheduleIO.load(new ByteArrayInputStream(String.join("\n", lines).getBytes()));
+        List<DefaultCourse> defaultForm = new ArrayList<>();
+        for(Course c : s.getAllCourses()){
+            defaultForm.add(new DefaultCourse(c));
+        }
+
+        int size = writeHelper(s).length;
+        Assert.assertTrue(size + " bytes for " + textSize + " bytes of text", size * 3 < textSize);
+        int defaultSize = writeHelper(defaultForm).length;
+        Assert.assertTrue(size + " bytes, " + defaultSize + " by default", size * 5 < defaultSize);
+
+        //the courses shared by the schedules are stored once
+        Schedule[] schedules = new Schedule[10];
+        for(int i = 0; i < schedules.length; i++){
+            schedules[i] = s.clone();
+        }
+        Assert.assertTrue(writeHelper((Object[]) schedules).length < size + 3 * 1000 * schedules.length);
+    }
+
+    @Test(expected = InvalidObjectException.class)
+    public void versionTest() throws Exception {
+        byte[] bytes = writeHelper(new Time(1, 0, false));
+        //the version byte is the first byte of the block data, right after the 2 byte block header at the end
+        bytes[bytes.length - 4] = 99;
+        readHelper(bytes, 1);
+    }
+}
@@ -0,0 +1,89 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Tests for Waitlists
+ */
+public class WaitlistsTest {
+
+    @Test
+    public void promoteTest() {
+        SeatRegistry seats = new SeatRegistry();
+        Course section = ScheduleIO.parseCourse("EGR 222,3,MWF,05:00 PM,60");
+        seats.setCapacity(section, 1);
+        Waitlists waitlists = new Waitlists(seats, Runnable::run);
+
+        Schedule s1 = new Schedule();
+        Schedule s2 = new Schedule();
+        Schedule s3 = new Schedule();
+        Assert.assertTrue(waitlists.enroll(s1, section));
+        Assert.assertFalse(waitlists.enroll(s2, section));
+        Assert.assertFalse(waitlists.enroll(s3, section));
+        Assert.assertEquals(2, waitlists.waiting(section));
+
+        //s2 now has a conflicting course, so s3 gets the seat
+        s2.add(ScheduleIO.parseCourse("EGR 101,3,F,05:30 PM,60"));
+        Assert.assertEquals(section, waitlists.drop(s1, Weekday.MONDAY, new Time(5, 15, true)));
+        Assert.assertEquals(0, s1.size());
+        Assert.assertFalse(s2.getAllCourses().contains(section));
+        Assert.assertTrue(s3.getAllCourses().contains(section));
+        Assert.assertEquals(0, waitlists.waiting(section));
+        Assert.assertEquals(1, seats.enrolled(section));
+    }
+
+    @Test
+    public void leaveTest() {
+        SeatRegistry seats = new SeatRegistry();
+        Course section = ScheduleIO.parseCourse("EGR 222,3,MWF,05:00 PM,60");
+        seats.setCapacity(section, 1);
+        Waitlists waitlists = new Waitlists(seats, Runnable::run);
+        Schedule s1 = new Schedule();
+        Schedule s2 = new Schedule();
+        waitlists.enroll(s1, section);
+        waitlists.enroll(s2, section);
+        Assert.assertTrue(waitlists.leave(s2, section));
+        Assert.assertTrue(waitlists.drop(s1, section));
+        Assert.assertEquals(0, s2.size());
+        Assert.assertEquals(0, seats.enrolled(section));
+    }
+
+    @Test(timeout = 20_000)
+    public void concurrentTest() throws Exception {
+        SeatRegistry seats = new SeatRegistry();
+        Course section = ScheduleIO.parseCourse("EGR 222,3,MWF,05:00 PM,60");
+        seats.setCapacity(section, 10);
+        ExecutorService promotions = Executors.newSingleThreadExecutor();
+        Waitlists waitlists = new Waitlists(seats, promotions);
+
+        List<Schedule> students = new ArrayList<>();
+        List<Schedule> enrolled = new ArrayList<>();
+        for(int i = 0; i < 100; i++){
+            Schedule s = new Schedule();
+            students.add(s);
+            if(waitlists.enroll(s, section)) enrolled.add(s);
+        }
+        Assert.assertEquals(10, enrolled.size());
+        Assert.assertEquals(90, waitlists.waiting(section));
+
+        ExecutorService droppers = Executors.newFixedThreadPool(8);
+        for(Schedule s : enrolled){
+            droppers.execute(() -> waitlists.drop(s, section));
+        }
+        droppers.shutdown();
+        Assert.assertTrue(droppers.awaitTermination(10, TimeUnit.SECONDS));
+        promotions.shutdown();
+        Assert.assertTrue(promotions.awaitTermination(10, TimeUnit.SECONDS));
+
+        Assert.assertEquals(10, seats.enrolled(section));
+        Assert.assertEquals(80, waitlists.waiting(section));
+        //the first 10 waitlisted students were promoted, in order
+        for(int i = 10; i < 100; i++){
+            synchronized(students.get(i)){
+                Assert.assertEquals(i < 20 ? 1 : 0, students.get(i).size());
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+import java.util.*;
+
+/**
+ * Generates reproducible synthetic courses, catalogs and schedule files for scale tests.
+ * The same seed and settings always produce the same workload.
+ */
+public class WorkloadGenerator {
+    private static final String[] DEPARTMENTS = {"EGR", "MTH", "PHY", "CHM", "CS", "BIO", "ENG", "HIS"};
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int DAY_COUNT = Weekday.values().length;
+    // a schedule can't hold more courses than there are minutes in the week
+    public static final int MAX_SCHEDULE_SIZE = DAY_COUNT * MINUTES_PER_DAY;
+
+    private final SplittableRandom random;
+    private double[] dayWeights = {0.5, 0.5, 0.5, 0.5, 0.5};
+    private double density = 0.5;
+    private double conflictRate = 0.0;
+    private int maxDuration = 180;
+
+    public WorkloadGenerator(long seed){
+        random = new SplittableRandom(seed);
+    }
+
+    /**
+     * @param weights chance of each weekday, Monday first, to be one of the days a course is offered
+     */
+    public WorkloadGenerator dayWeights(double... weights){
+        if(weights.length != DAY_COUNT) throw new IllegalArgumentException();
+        dayWeights = weights.clone();
+        return this;
+    }
+
+    /**
+     * @param density fraction (0, 1] of its time slot a course of a generated schedule fills
+     */
+    public WorkloadGenerator density(double density){
+        if(density <= 0 || density > 1) throw new IllegalArgumentException();
+        this.density = density;
+        return this;
+    }
+
+    /**
+     * @param conflictRate chance [0, 1] that a line of a generated schedule file is followed
+     *                     by a course conflicting with an earlier line
+     */
+    public WorkloadGenerator conflictRate(double conflictRate){
+        if(conflictRate < 0 || conflictRate > 1) throw new IllegalArgumentException();
+        this.conflictRate = conflictRate;
+        return this;
+    }
+
+    /**
+     * @param maxDuration longest duration in minutes of a catalog course
+     */
+    public WorkloadGenerator maxDuration(int maxDuration){
+        if(maxDuration <= 0 || maxDuration >= MINUTES_PER_DAY) throw new IllegalArgumentException();
+        this.maxDuration = maxDuration;
+        return this;
+    }
+
+    /**
+     * Returns a random course that doesn't run past midnight
+     */
+    public Course course(){
+        int duration = 1 + random.nextInt(maxDuration);
+        int start = random.nextInt(MINUTES_PER_DAY - duration + 1);
+        return course(days(), start, duration);
+    }
+
+    /**
+     * Returns random courses that may conflict with each other, and may repeat
+     */
+    public List<Course> catalog(int size){
+        List<Course> courses = new ArrayList<>(size);
+        for(int i = 0; i < size; i++){
+            courses.add(course());
+        }
+        return courses;
+    }
+
+    /**
+     * Returns courses that don't conflict with each other, in random order.
+     * Every day is cut into equal time slots; each course takes the same slot on each of its days.
+     * When the slots run low, courses fall back to a single day so that all of them fit
+     * @param size number of courses, at most MAX_SCHEDULE_SIZE
+     */
+    public List<Course> schedule(int size){
+        if(size < 0 || size > MAX_SCHEDULE_SIZE) throw new IllegalArgumentException();
+        int slotsPerDay = Math.min(MINUTES_PER_DAY, Math.max(1, (4 * size + DAY_COUNT - 1) / DAY_COUNT));
+        int slotLength = MINUTES_PER_DAY / slotsPerDay;
+        int cells = DAY_COUNT * slotsPerDay;
+        boolean[][] taken = new boolean[DAY_COUNT][slotsPerDay];
+        int free = cells;
+
+        List<Course> courses = new ArrayList<>(size);
+        while(courses.size() < size){
+            DaySet days = days();
+            int slot = random.nextInt(slotsPerDay);
+            boolean available = true;
+            for(Weekday day : days){
+                available &= !taken[day.ordinal()][slot];
+            }
+            //leave at least one free slot for each of the remaining courses
+            boolean roomLeft = free - days.size() >= size - courses.size() - 1;
+            if(!available && roomLeft && free > cells / 4) continue;
+            if(!available || !roomLeft){
+                //the grid is getting full: take the next free slot on a single day instead of retrying
+                int cell = random.nextInt(cells);
+                while(taken[cell / slotsPerDay][cell % slotsPerDay]){
+                    cell = (cell + 1) % cells;
+                }
+                days = DaySet.of(Weekday.values()[cell / slotsPerDay]);
+                slot = cell % slotsPerDay;
+            }
+            for(Weekday day : days){
+                taken[day.ordinal()][slot] = true;
+                free--;
+            }
+            int duration = Math.max(1, (int) Math.round(slotLength * density));
+            int start = slot * slotLength + random.nextInt(slotLength - duration + 1);
+            courses.add(course(days, start, duration));
+        }
+        return courses;
+    }
+
+    /**
+     * Returns the lines of a schedule file holding a generated schedule of the given size.
+     * With a non-zero conflict rate, some lines are followed by a course that conflicts with an earlier line
+     */
+    public List<String> scheduleLines(int size){
+        List<Course> courses = schedule(size);
+        List<String> lines = new ArrayList<>();
+        for(int i = 0; i < courses.size(); i++){
+            lines.add(courses.get(i).toString());
+            if(conflictRate > 0 && random.nextDouble() < conflictRate){
+                Course earlier = courses.get(random.nextInt(i + 1));
+                lines.add(course(earlier.getDaysOffered(), earlier.getStartMinute(), earlier.getDuration()).toString());
+            }
+        }
+        return lines;
+    }
+
+    // Picks each day with its weight, and at least one day
+    private DaySet days(){
+        int mask = 0;
+        for(int d = 0; d < DAY_COUNT; d++){
+            if(random.nextDouble() < dayWeights[d]) mask |= 1 << d;
+        }
+        if(mask == 0) mask = 1 << random.nextInt(DAY_COUNT);
+        return DaySet.fromMask(mask);
+    }
+
+    private Course course(Set<Weekday> days, int start, int duration){
+        String name = DEPARTMENTS[random.nextInt(DEPARTMENTS.length)] + " " + (100 + random.nextInt(900));
+        return new Course(name, 1 + random.nextInt(5), days, Time.fromMinute(start), duration);
+    }
+}